@@ -0,0 +1,99 @@
+package uk.ac.soton.comp1206.benchmarks;
+
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.Grid;
+import uk.ac.soton.comp1206.game.LineClearResult;
+
+import java.util.SplittableRandom;
+
+/**
+ * Helpers for setting up the boards the benchmarks run against
+ */
+final class Boards {
+
+    private Boards() {
+    }
+
+    /**
+     * Fill cells of a grid at random until roughly the given fraction of them hold a block, leaving the 3x3 square
+     * centred on the middle of the board empty so there is always somewhere to play. Any lines completed by the fill
+     * are cleared, so the board starts with no full lines.
+     * @param grid the grid to fill
+     * @param density fraction of cells to fill
+     * @param seed seed of the fill, so every run starts from the same board
+     */
+    static void fill(Grid grid, double density, long seed) {
+        var random = new SplittableRandom(seed);
+        for (var y = 0; y < grid.getRows(); y++) {
+            for (var x = 0; x < grid.getCols(); x++) {
+                if (!isReserved(grid, x, y) && random.nextDouble() < density) {
+                    grid.set(x, y, 1 + random.nextInt(GamePiece.PIECES));
+                }
+            }
+        }
+        grid.getLineEngine().clearFullLines();
+    }
+
+    /**
+     * Check whether a cell is in the 3x3 square left empty in the middle of the board
+     * @param grid the grid
+     * @param x column
+     * @param y row
+     * @return true if the cell is reserved
+     */
+    static boolean isReserved(Grid grid, int x, int y) {
+        return Math.abs(x - grid.getCols() / 2) <= 1 && Math.abs(y - grid.getRows() / 2) <= 1;
+    }
+
+    /**
+     * Get a mask over the occupancy words of a grid covering the reserved square
+     * @param grid the grid
+     * @return the mask
+     */
+    static long[] reservedMask(Grid grid) {
+        var mask = new long[grid.getOccupancyWords()];
+        for (var y = 0; y < grid.getRows(); y++) {
+            for (var x = 0; x < grid.getCols(); x++) {
+                if (isReserved(grid, x, y)) {
+                    var index = y * grid.getCols() + x;
+                    mask[index / Long.SIZE] |= 1L << index;
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Take a copy of the value of every cell of a grid
+     * @param grid the grid
+     * @return the values, indexed by cell
+     */
+    static int[] snapshot(Grid grid) {
+        var values = new int[grid.getCols() * grid.getRows()];
+        for (var index = 0; index < values.length; index++) {
+            values[index] = grid.get(index % grid.getCols(), index / grid.getCols());
+        }
+        return values;
+    }
+
+    /**
+     * Put the cells of the lines just cleared back to a snapshot taken of the grid. Only touches the cleared lines, so
+     * costs about as much as the clear did rather than a pass over the whole board.
+     * @param grid the grid
+     * @param values the snapshot
+     * @param cleared the lines cleared
+     */
+    static void restoreLines(Grid grid, int[] values, LineClearResult cleared) {
+        var engine = grid.getLineEngine();
+        var cols = grid.getCols();
+        for (var i = 0; i < cleared.getLinesCleared(); i++) {
+            var line = cleared.getLine(i);
+            for (var position = 0; position < engine.getLength(line); position++) {
+                var index = engine.getCell(line, position);
+                grid.set(index % cols, index / cols, values[index]);
+            }
+        }
+        //The snapshot had no full lines, but lines may have filled and emptied again while it was written back
+        engine.clearFullLines();
+    }
+}
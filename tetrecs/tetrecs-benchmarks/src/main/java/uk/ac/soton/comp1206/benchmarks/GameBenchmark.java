@@ -0,0 +1,91 @@
+package uk.ac.soton.comp1206.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.LineClearResult;
+import uk.ac.soton.comp1206.game.PieceSource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the work the Game does for every move, at several board sizes and fill densities.
+ *
+ * Each benchmark puts the board back the way it found it, so every operation starts from the same board. Only the
+ * cells the operation changed are put back: the 3x3 square a piece is played in, and the lines cleared. That costs
+ * about as much again as the operation itself, so a change in the speed of clearing lines still shows in the result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    @Param({"5", "10", "50", "200"})
+    public int size;
+
+    @Param({"0.25", "0.75"})
+    public double density;
+
+    private Game game;
+    private int[] snapshot;
+    private long[] reserved;
+    private int row;
+
+    /**
+     * The result of every clear, the same object the line engine reuses
+     */
+    private LineClearResult lastClear;
+
+    @Setup
+    public void setup() {
+        game = new Game(size, size, new PieceSource(1));
+        game.start();
+        Boards.fill(game.getGrid(), density, 1);
+        snapshot = Boards.snapshot(game.getGrid());
+        reserved = Boards.reservedMask(game.getGrid());
+        lastClear = game.clearingLines();
+    }
+
+    /**
+     * The common case after a move: no line was completed
+     */
+    @Benchmark
+    public int afterPieceNoLines() {
+        game.afterPiece();
+        return game.getScore();
+    }
+
+    /**
+     * Complete a row, then clear it
+     */
+    @Benchmark
+    public int clearingLines() {
+        var grid = game.getGrid();
+        row = (row + 1) % size;
+        for (var x = 0; x < size; x++) {
+            if (grid.get(x, row) == 0) {
+                grid.set(x, row, 1);
+            }
+        }
+
+        var cleared = game.clearingLines();
+        var lines = cleared.getLinesCleared();
+        Boards.restoreLines(grid, snapshot, cleared);
+        return lines;
+    }
+
+    /**
+     * Play the current piece in the middle of the board, as if the player clicked there, then take it off again
+     */
+    @Benchmark
+    public int blockClicked() {
+        game.blockClicked(size / 2, size / 2);
+        if (lastClear.getLinesCleared() > 0) {
+            Boards.restoreLines(game.getGrid(), snapshot, lastClear);
+        }
+        game.getGrid().clear(reserved);
+        return game.getScore();
+    }
+}
@@ -0,0 +1,33 @@
+package uk.ac.soton.comp1206.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import uk.ac.soton.comp1206.game.GamePiece;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks creating and rotating pieces, which should be lookups into the piece catalogue and allocate nothing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GamePieceBenchmark {
+
+    private GamePiece piece = GamePiece.createPiece(0);
+    private int next;
+
+    @Benchmark
+    public GamePiece createPiece() {
+        var i = next++;
+        return GamePiece.createPiece(i % GamePiece.PIECES, i);
+    }
+
+    @Benchmark
+    public GamePiece rotate() {
+        piece = piece.rotate();
+        return piece;
+    }
+}
@@ -0,0 +1,64 @@
+package uk.ac.soton.comp1206.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.Grid;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading and writing single cells of a Grid, at several board sizes and fill densities
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark {
+
+    /**
+     * The number of cells visited before the benchmarks start again from the first
+     */
+    private static final int CELLS = 1024;
+
+    @Param({"5", "20", "100", "500"})
+    public int size;
+
+    @Param({"0.25", "0.75"})
+    public double density;
+
+    private Grid grid;
+
+    private final int[] xs = new int[CELLS];
+    private final int[] ys = new int[CELLS];
+    private final int[] values = new int[CELLS];
+    private int next;
+
+    @Setup
+    public void setup() {
+        grid = new Grid(size, size);
+        Boards.fill(grid, density, 1);
+
+        //Visit cells in a fixed random order, so the benchmark is not just walking memory in a line
+        var random = new SplittableRandom(2);
+        for (var i = 0; i < CELLS; i++) {
+            xs[i] = random.nextInt(size);
+            ys[i] = random.nextInt(size);
+            values[i] = random.nextDouble() < density ? 1 + random.nextInt(GamePiece.PIECES) : 0;
+        }
+    }
+
+    @Benchmark
+    public int get() {
+        var i = next++ & (CELLS - 1);
+        return grid.get(xs[i], ys[i]);
+    }
+
+    @Benchmark
+    public void set() {
+        var i = next++ & (CELLS - 1);
+        grid.set(xs[i], ys[i], values[i]);
+    }
+}
@@ -0,0 +1,8 @@
+module uk.ac.soton.comp1206.core {
+    requires org.apache.logging.log4j;
+    exports uk.ac.soton.comp1206.game;
+    exports uk.ac.soton.comp1206.game.event;
+    exports uk.ac.soton.comp1206.replay;
+    exports uk.ac.soton.comp1206.search;
+    exports uk.ac.soton.comp1206.simulation;
+}
@@ -0,0 +1,56 @@
+package uk.ac.soton.comp1206.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * The Bag Piece Strategy puts one of every piece into a bag, shuffles it and deals the bag out before refilling it, so
+ * no piece can go missing for long and none can come up more than twice in a row.
+ */
+public class BagPieceStrategy implements PieceStrategy {
+
+    /**
+     * The pieces in the bag, dealt from the front
+     */
+    private final int[] bag = new int[GamePiece.PIECES];
+
+    /**
+     * How many pieces of the bag have been dealt
+     */
+    private int dealt = GamePiece.PIECES;
+
+    @Override
+    public int nextPiece(SplittableRandom random) {
+        if (dealt == bag.length) {
+            refill(random);
+        }
+        return bag[dealt++];
+    }
+
+    /**
+     * Refill the bag with one of every piece, in a Fisher-Yates shuffled order
+     * @param random the random numbers to use
+     */
+    private void refill(SplittableRandom random) {
+        for (var i = 0; i < bag.length; i++) {
+            bag[i] = i;
+        }
+        for (var i = bag.length - 1; i > 0; i--) {
+            var j = random.nextInt(i + 1);
+            var swapped = bag[i];
+            bag[i] = bag[j];
+            bag[j] = swapped;
+        }
+        dealt = 0;
+    }
+
+    @Override
+    public PieceStrategy copy() {
+        return new BagPieceStrategy();
+    }
+
+    @Override
+    public String toString() {
+        return "bag";
+    }
+
+}
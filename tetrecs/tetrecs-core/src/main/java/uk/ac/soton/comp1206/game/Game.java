@@ -0,0 +1,359 @@
+package uk.ac.soton.comp1206.game;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.game.event.GameActionListener;
+import uk.ac.soton.comp1206.game.event.NextPieceListener;
+
+/**
+ * The Game class handles the main logic, state and properties of the TetrECS game. Methods to manipulate the game state
+ * and to handle actions made by the player should take place inside this class.
+ *
+ * The Game has no dependency on JavaFX and can run headless. User interfaces follow it through listeners.
+ */
+public class Game {
+
+    private GamePiece currentPiece;
+
+    private static final Logger logger = LogManager.getLogger(Game.class);
+
+    private int score = 0;
+    private int level = 0;
+    private int lives = 3;
+    private int scoreLeftToNextLevel = 1000;
+    private int multiplier = 1;
+
+    private NextPieceListener nextPieceListener;
+
+    private GameActionListener actionListener;
+
+    /**
+     * Number of rows
+     */
+    protected final int rows;
+
+    /**
+     * Number of columns
+     */
+    protected final int cols;
+
+    /**
+     * The grid model linked to the game
+     */
+    protected final Grid grid;
+
+    /**
+     * Following Piece is going to be the 2nd piece you see, so after you play the current piece, you know what piece is coming next
+     */
+    private GamePiece followingPiece;
+
+    /**
+     * Deals the pieces of this game
+     */
+    private final PieceSource pieceSource;
+
+    /**
+     * Create a new game with the specified rows and columns. Creates a corresponding grid model.
+     * @param cols number of columns
+     * @param rows number of rows
+     */
+    public Game(int cols, int rows) {
+        this(cols, rows, PieceSource.unseeded());
+    }
+
+    /**
+     * Create a new game with the specified rows and columns, dealing pieces from the given source. Games created with
+     * sources of the same seed and strategy deal the same pieces.
+     * @param cols number of columns
+     * @param rows number of rows
+     * @param pieceSource the source of pieces, not shared with any other game
+     */
+    public Game(int cols, int rows, PieceSource pieceSource) {
+        this.cols = cols;
+        this.rows = rows;
+        this.pieceSource = pieceSource;
+
+        //Create a new grid model to represent the game state
+        this.grid = new Grid(cols,rows);
+
+        //Makes the current and following pieces random gamePieces that have been spawned
+        this.currentPiece = this.spawnPiece();
+        this.followingPiece = this.spawnPiece();
+    }
+
+    /**
+     * Set the listener to be called when the next piece is generated
+     * @param listener the listener to set
+     */
+    public void setNextPieceListener(NextPieceListener listener) {
+        this.nextPieceListener = listener;
+    }
+
+    /**
+     * Set the listener to be told about every action taken in this game
+     * @param listener the listener to set
+     */
+    public void setActionListener(GameActionListener listener) {
+        this.actionListener = listener;
+    }
+
+    //to be called when the user pressed either the right click or r on the keyboard
+    public void rotateCurrentPiece() {
+        this.rotateCurrentPiece(1);
+    }
+
+    /**
+     * Rotate the current piece the given number of times
+     * @param rotations number of rotations
+     */
+    public void rotateCurrentPiece(int rotations) {
+        this.currentPiece = this.currentPiece.rotate(rotations);
+
+        if (actionListener != null) {
+            actionListener.pieceRotated(rotations);
+        }
+    }
+
+    /**
+     * Swap the currentPiece and followingPiece. Pieces are shared flyweights so nothing is copied.
+     */
+    public void swapCurrentPiece() {
+        var swapped = this.currentPiece;
+        this.currentPiece = this.followingPiece;
+        this.followingPiece = swapped;
+
+        if (actionListener != null) {
+            actionListener.pieceSwapped();
+        }
+    }
+
+    /**
+     * Start the game
+     */
+    public void start() {
+        logger.info("Starting game");
+        initialiseGame();
+    }
+
+    /**
+     * Initialise a new game and set up anything that needs to be done at the start
+     */
+    public void initialiseGame() {
+        logger.info("Initialising game");
+
+        //When game is initialised, spawn new GamePieces and set them to the currentPiece and followingPiece
+        this.currentPiece = this.spawnPiece();
+        this.followingPiece = this.spawnPiece();
+
+        if (actionListener != null) {
+            actionListener.gameStarted();
+        }
+    }
+
+    public void resetScoreLeftToNextLevel() {
+        this.scoreLeftToNextLevel = 1000;
+    }
+
+    public void decreaseScoreToNextLevel(int points) {
+        this.scoreLeftToNextLevel -= points;
+    }
+
+    public void shouldLevelIncrease() {
+        if (this.scoreLeftToNextLevel <= 0) {
+            this.increaseLevel();
+            if (this.scoreLeftToNextLevel == 0) {
+                this.resetScoreLeftToNextLevel();
+            } else {
+                int remainder = this.scoreLeftToNextLevel * -1;
+                this.resetScoreLeftToNextLevel();
+                this.decreaseScoreToNextLevel(remainder);
+            }
+        }
+    }
+
+    //SCORE METHODS
+    public void increaseScore(int numberOfLines, int numberOfBlocks) {
+        int formula = numberOfLines * numberOfBlocks * 10 * this.multiplier;
+        this.score += formula;
+        this.decreaseScoreToNextLevel(formula);
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    //not sure if I will need this method but no harm in adding it:
+    public void resetScore() {
+        this.score = 0;
+    }
+
+    //LEVEL METHODS
+    public int getLevel() {
+        return this.level;
+    }
+
+    public void increaseLevel() {
+        this.level += 1;
+    }
+
+    //not sure if I will need this method but no harm in adding it:
+    public void resetLevel() {
+        this.level = 0;
+    }
+
+    //LIVES METHODS
+    public void decreaseLives() {
+        this.lives -= 1;
+    }
+
+    public void increaseLives() {
+        this.lives += 1;
+    }
+
+    //not sure if I will need this method but no harm in adding it:
+    public void resetLives() {
+        this.lives = 3;
+    }
+
+    //MULTIPLIER METHODS
+    public int getMultiplier() {
+        return this.multiplier;
+    }
+
+    public void increaseMultiplier(int value) {
+        this.multiplier += value;
+    }
+
+    public void resetMultiplier() {
+        this.multiplier = 1;
+    }
+
+    /**
+     * Handle what should happen when a particular block is clicked. The current piece is played centred on the block,
+     * if it fits there.
+     * @param x column of the block that was clicked
+     * @param y row of the block that was clicked
+     * @return true if the piece was played, false if it could not be played there
+     */
+    public boolean blockClicked(int x, int y) {
+        //Group the piece played and any lines it clears into one update of the grid
+        grid.beginUpdate();
+        try {
+            //Play the current piece, or do nothing if it cannot be played here
+            if (!grid.playPiece(this.currentPiece, x, y)) {
+                return false;
+            }
+
+            if (actionListener != null) {
+                actionListener.piecePlayed(x, y);
+            }
+
+            //fetches the next piece, calling the nextPieceListener
+            this.nextPiece();
+
+            //Called after a piece has been placed to clear lines
+            this.afterPiece();
+        } finally {
+            grid.commitUpdate();
+        }
+
+        //method to work out if the level should increase
+        this.shouldLevelIncrease();
+        return true;
+    }
+
+    //returns the next GamePiece dealt by the piece source
+    public GamePiece spawnPiece() {
+        return pieceSource.next();
+    }
+
+    //replaces the current piece with a new piece and replaces following piece with a random piece
+    public void nextPiece() {
+        this.currentPiece = this.followingPiece;
+        this.followingPiece = this.spawnPiece();
+
+        if (nextPieceListener != null) {
+            nextPieceListener.nextPiece(this.currentPiece);
+            nextPieceListener.followingPiece(this.followingPiece);
+        }
+    }
+
+    /**
+     * Clear any lines that have been made and update the score and multiplier. Every line cleared scores
+     * lines * blocks * 10 * multiplier, then raises the multiplier by the number of lines; a placement which clears no
+     * lines resets the multiplier.
+     */
+    public void afterPiece() {
+        var cleared = this.clearingLines();
+        var numberOfLinesCleared = cleared.getLinesCleared();
+        var numberOfGridBlocksCleared = cleared.getBlocksCleared();
+
+        this.increaseScore(numberOfLinesCleared, numberOfGridBlocksCleared);
+        if (numberOfLinesCleared == 0) {
+            this.resetMultiplier();
+        } else {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Cleared {} lines and {} blocks, score is now {}",
+                        numberOfLinesCleared, numberOfGridBlocksCleared, this.score);
+            }
+            this.increaseMultiplier(numberOfLinesCleared);
+        }
+    }
+
+    /**
+     * Clear every full row, column and diagonal from the grid. Only lines through the cells filled by the last
+     * placement are checked.
+     * @return the lines and blocks cleared, reused by the next call
+     */
+    public LineClearResult clearingLines() {
+        return grid.getLineEngine().clearFullLines();
+    }
+
+    /**
+     * Get the piece which will be played next
+     * @return current piece
+     */
+    public GamePiece getCurrentPiece() {
+        return currentPiece;
+    }
+
+    /**
+     * Get the piece which will be played after the current piece
+     * @return following piece
+     */
+    public GamePiece getFollowingPiece() {
+        return followingPiece;
+    }
+
+    /**
+     * Get the source dealing the pieces of this game
+     * @return piece source
+     */
+    public PieceSource getPieceSource() {
+        return pieceSource;
+    }
+
+    /**
+     * Get the grid model inside this game representing the game state of the board
+     * @return game grid model
+     */
+    public Grid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Get the number of columns in this game
+     * @return number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Get the number of rows in this game
+     * @return number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,418 @@
+package uk.ac.soton.comp1206.game;
+
+/**
+ * Instances of GamePiece Represents the model of a specific Game Piece with it's block makeup.
+ *
+ * GamePieces are immutable flyweights. Every piece in every rotation is created once, when the class is loaded, and
+ * held in a catalogue, so asking for a piece or rotating one never creates anything new. Alongside the 3x3 block makeup
+ * each piece carries its cells as a bitmask, as a list of offsets from the centre block and as a bounding box.
+ *
+ * The GamePiece class also contains a factory for producing a GamePiece of a particular shape, as specified by it's
+ * number.
+ */
+public class GamePiece {
+
+    /**
+     * The total number of pieces in this game
+     */
+    public static final int PIECES = 15;
+
+    /**
+     * The number of distinct rotations of every piece
+     */
+    public static final int ROTATIONS = 4;
+
+    /**
+     * Every piece in every rotation, indexed by piece * ROTATIONS + rotation
+     */
+    private static final GamePiece[] CATALOGUE = new GamePiece[PIECES * ROTATIONS];
+
+    static {
+        for (var piece = 0; piece < PIECES; piece++) {
+            var unrotated = definePiece(piece);
+            CATALOGUE[piece * ROTATIONS] = unrotated;
+            for (var rotation = 1; rotation < ROTATIONS; rotation++) {
+                var previous = CATALOGUE[piece * ROTATIONS + rotation - 1];
+                CATALOGUE[piece * ROTATIONS + rotation] = new GamePiece(piece, rotation, unrotated.name,
+                        rotateBlocks(previous.blocks), unrotated.value);
+            }
+        }
+    }
+
+    /**
+     * The 2D grid representation of the shape of this piece
+     */
+    private final int[][] blocks;
+
+    /**
+     * The value of this piece
+     */
+    private final int value;
+
+    /**
+     * The name of this piece
+     */
+    private final String name;
+
+    /**
+     * The piece number of this piece
+     */
+    private final int type;
+
+    /**
+     * The number of times this piece has been rotated from its starting shape
+     */
+    private final int rotation;
+
+    /**
+     * The cells of this piece as a bitmask, where bit y * 3 + x is set when the block at column x and row y is filled
+     */
+    private final int mask;
+
+    /**
+     * The column of every block of this piece relative to the centre block, from -1 to 1
+     */
+    private final int[] offsetX;
+
+    /**
+     * The row of every block of this piece relative to the centre block, from -1 to 1
+     */
+    private final int[] offsetY;
+
+    /**
+     * The bounding box of the filled blocks within the 3x3 grid
+     */
+    private final int minX;
+    private final int maxX;
+    private final int minY;
+    private final int maxY;
+
+    /**
+     * Get the GamePiece of the specified piece number
+     * @param piece piece number
+     * @return the GamePiece
+     */
+    public static GamePiece createPiece(int piece) {
+        return createPiece(piece, 0);
+    }
+
+    /**
+     * Get the GamePiece of the specified piece number and rotation
+     * @param piece piece number
+     * @param rotation number of times to rotate
+     * @return the GamePiece
+     */
+    public static GamePiece createPiece(int piece, int rotation) {
+        if (piece < 0 || piece >= PIECES) {
+            throw new IndexOutOfBoundsException("No such piece: " + piece);
+        }
+        return CATALOGUE[piece * ROTATIONS + Math.floorMod(rotation, ROTATIONS)];
+    }
+
+    /**
+     * Define the starting shape of the specified piece number. Only called when building the catalogue.
+     * @param piece piece number
+     * @return the created GamePiece
+     */
+    private static GamePiece definePiece(int piece) {
+        switch (piece) {
+            //Line
+            case 0 -> {
+                int[][] blocks = {{0, 0, 0}, {1, 1, 1}, {0, 0, 0}};
+                return new GamePiece(piece, 0, "Line", blocks, 1);
+            }
+
+            //C
+            case 1 -> {
+                int[][] blocks = {{0, 0, 0}, {1, 1, 1}, {1, 0, 1}};
+                return new GamePiece(piece, 0, "C", blocks, 2);
+            }
+
+            //Plus
+            case 2 -> {
+                int[][] blocks = {{0, 1, 0}, {1, 1, 1}, {0, 1, 0}};
+                return new GamePiece(piece, 0, "Plus", blocks, 3);
+            }
+
+            //Dot
+            case 3 -> {
+                int[][] blocks = {{0, 0, 0}, {0, 1, 0}, {0, 0, 0}};
+                return new GamePiece(piece, 0, "Dot", blocks, 4);
+            }
+
+            //Square
+            case 4 -> {
+                int[][] blocks = {{1, 1, 0}, {1, 1, 0}, {0, 0, 0}};
+                return new GamePiece(piece, 0, "Square", blocks, 5);
+            }
+
+            //L
+            case 5 -> {
+                int[][] blocks = {{0, 0, 0}, {1, 1, 1}, {0, 0, 1}};
+                return new GamePiece(piece, 0, "L", blocks, 6);
+            }
+
+            //J
+            case 6 -> {
+                int[][] blocks = {{0, 0, 1}, {1, 1, 1}, {0, 0, 0}};
+                return new GamePiece(piece, 0, "J", blocks, 7);
+            }
+
+            //S
+            case 7 -> {
+                int[][] blocks = {{0, 0, 0}, {0, 1, 1}, {1, 1, 0}};
+                return new GamePiece(piece, 0, "S", blocks, 8);
+            }
+
+            //Z
+            case 8 -> {
+                int[][] blocks = {{1, 1, 0}, {0, 1, 1}, {0, 0, 0}};
+                return new GamePiece(piece, 0, "Z", blocks, 9);
+            }
+
+            //T
+            case 9 -> {
+                int[][] blocks = {{1, 0, 0}, {1, 1, 0}, {1, 0, 0}};
+                return new GamePiece(piece, 0, "T", blocks, 10);
+            }
+
+            //X
+            case 10 -> {
+                int[][] blocks = {{1, 0, 1}, {0, 1, 0}, {1, 0, 1}};
+                return new GamePiece(piece, 0, "X", blocks, 11);
+            }
+
+            //Corner
+            case 11 -> {
+                int[][] blocks = {{0, 0, 0}, {1, 1, 0}, {1, 0, 0}};
+                return new GamePiece(piece, 0, "Corner", blocks, 12);
+            }
+
+            //Inverse Corner
+            case 12 -> {
+                int[][] blocks = {{1, 0, 0}, {1, 1, 0}, {0, 0, 0}};
+                return new GamePiece(piece, 0, "Inverse Corner", blocks, 13);
+            }
+
+            //Diagonal
+            case 13 -> {
+                int[][] blocks = {{1, 0, 0}, {0, 1, 0}, {0, 0, 1}};
+                return new GamePiece(piece, 0, "Diagonal", blocks, 14);
+            }
+
+            //Double
+            case 14 -> {
+                int[][] blocks = {{0, 1, 0}, {0, 1, 0}, {0, 0, 0}};
+                return new GamePiece(piece, 0, "Double", blocks, 15);
+            }
+        }
+
+        //Not a valid piece number
+        throw new IndexOutOfBoundsException("No such piece: " + piece);
+    }
+
+    /**
+     * Rotate a 3x3 grid of blocks once, clockwise
+     * @param blocks the blocks to rotate
+     * @return the rotated blocks
+     */
+    private static int[][] rotateBlocks(int[][] blocks) {
+        int[][] rotated = new int[blocks.length][blocks[0].length];
+        rotated[2][0] = blocks[0][0];
+        rotated[1][0] = blocks[0][1];
+        rotated[0][0] = blocks[0][2];
+
+        rotated[2][1] = blocks[1][0];
+        rotated[1][1] = blocks[1][1];
+        rotated[0][1] = blocks[1][2];
+
+        rotated[2][2] = blocks[2][0];
+        rotated[1][2] = blocks[2][1];
+        rotated[0][2] = blocks[2][2];
+
+        return rotated;
+    }
+
+    /**
+     * Create a new GamePiece with the given name, block makeup and value. Should not be called directly, only when
+     * building the catalogue.
+     * @param type piece number
+     * @param rotation number of rotations from the starting shape
+     * @param name name of the piece
+     * @param blocks block makeup of the piece
+     * @param value the value of this piece
+     */
+    private GamePiece(int type, int rotation, String name, int[][] blocks, int value) {
+        this.type = type;
+        this.rotation = rotation;
+        this.name = name;
+        this.blocks = blocks;
+        this.value = value;
+
+        //Use the shape of the block to create a grid with either 0 (empty) or the value of this shape for each block.
+        var mask = 0;
+        var count = 0;
+        for(int x = 0; x < blocks.length; x++) {
+            for (int y = 0; y < blocks[x].length; y++) {
+                if(blocks[x][y] == 0) continue;
+                blocks[x][y] = value;
+                mask |= 1 << (y * 3 + x);
+                count++;
+            }
+        }
+        this.mask = mask;
+
+        //Work out the offsets and bounding box of the filled blocks
+        offsetX = new int[count];
+        offsetY = new int[count];
+        int minX = 2, maxX = 0, minY = 2, maxY = 0;
+        var block = 0;
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 3; x++) {
+                if (blocks[x][y] == 0) continue;
+                offsetX[block] = x - 1;
+                offsetY[block] = y - 1;
+                block++;
+                minX = Math.min(minX, x);
+                maxX = Math.max(maxX, x);
+                minY = Math.min(minY, y);
+                maxY = Math.max(maxY, y);
+            }
+        }
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Get the value of this piece
+     * @return piece value
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Get the piece number of this piece
+     * @return piece number
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Get the number of times this piece has been rotated from its starting shape
+     * @return rotation, from 0 to 3
+     */
+    public int getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Get the block makeup of this piece. As pieces are shared, this is a copy which is safe to modify.
+     * @return 2D grid of the blocks representing the piece shape
+     */
+    public int[][] getBlocks() {
+        var copy = new int[blocks.length][];
+        for (var x = 0; x < blocks.length; x++) {
+            copy[x] = blocks[x].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Get the cells of this piece as a bitmask, where bit y * 3 + x is set when the block at column x and row y of the
+     * 3x3 grid is filled
+     * @return cell bitmask
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Get the number of blocks making up this piece
+     * @return number of blocks
+     */
+    public int getBlockCount() {
+        return offsetX.length;
+    }
+
+    /**
+     * Get the column of a block relative to the centre of the piece
+     * @param block which block, from 0 to getBlockCount() - 1
+     * @return column offset, from -1 to 1
+     */
+    public int getOffsetX(int block) {
+        return offsetX[block];
+    }
+
+    /**
+     * Get the row of a block relative to the centre of the piece
+     * @param block which block, from 0 to getBlockCount() - 1
+     * @return row offset, from -1 to 1
+     */
+    public int getOffsetY(int block) {
+        return offsetY[block];
+    }
+
+    /**
+     * Get the leftmost filled column of the 3x3 grid
+     * @return column from 0 to 2
+     */
+    public int getMinX() {
+        return minX;
+    }
+
+    /**
+     * Get the rightmost filled column of the 3x3 grid
+     * @return column from 0 to 2
+     */
+    public int getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * Get the topmost filled row of the 3x3 grid
+     * @return row from 0 to 2
+     */
+    public int getMinY() {
+        return minY;
+    }
+
+    /**
+     * Get the bottom filled row of the 3x3 grid
+     * @return row from 0 to 2
+     */
+    public int getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Get this piece rotated the given number of rotations
+     * @param rotations number of rotations
+     * @return the rotated piece
+     */
+    public GamePiece rotate(int rotations) {
+        return createPiece(type, rotation + rotations);
+    }
+
+    /**
+     * Get this piece rotated exactly once
+     * @return the rotated piece
+     */
+    public GamePiece rotate() {
+        return rotate(1);
+    }
+
+    /**
+     * Return the string representation of this piece
+     * @return the name of this piece
+     */
+    public String toString() {
+        return this.name;
+    }
+
+
+
+}
@@ -0,0 +1,459 @@
+package uk.ac.soton.comp1206.game;
+
+import uk.ac.soton.comp1206.game.event.GridListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Grid is a model which holds the state of a game board. It is made up of a set of Integer values arranged in a 2D
+ * arrow, with rows and columns.
+ *
+ * The values are held in primitive storage: an occupancy bitmask (a single long for boards of up to 64 cells, a long
+ * array for anything larger) alongside a packed byte array of the value of every cell. Cells are indexed row by row,
+ * so the cell at (x, y) is bit y * cols + x.
+ *
+ * The Grid has no dependency on JavaFX. Views of the grid attach a GridListener, which is told which cells changed
+ * value. Changes can be grouped with beginUpdate and commitUpdate, so that listeners hear about a whole move (a piece
+ * played and the lines it completed cleared) in one event naming every cell touched, rather than one event per cell.
+ * Playing a piece and clearing a mask are always grouped. Grids which are never displayed have no listeners and pay
+ * nothing for them.
+ *
+ * Each Grid owns a LineEngine which is told about every cell that is filled or emptied, so that completed lines can be
+ * found without scanning the whole board.
+ *
+ * The Grid contains functions related to modifying the model, for example, placing a piece inside the grid.
+ *
+ * The Grid should be linked to a GameBoard for it's display.
+ */
+public class Grid {
+
+    /**
+     * The largest number of cells which fit into a single occupancy word
+     */
+    private static final int WORD_SIZE = Long.SIZE;
+
+    /**
+     * The number of columns in this grid
+     */
+    private final int cols;
+
+    /**
+     * The number of rows in this grid
+     */
+    private final int rows;
+
+    /**
+     * The occupancy bitmask of boards with at most 64 cells. Bit i is set when cell i holds a non-zero value.
+     */
+    private long occupancy;
+
+    /**
+     * The occupancy bitmask of boards with more than 64 cells, or null for smaller boards
+     */
+    private final long[] occupancyWords;
+
+    /**
+     * The value held in every cell, indexed by cell
+     */
+    private final byte[] values;
+
+    /**
+     * Listeners told about the cells changed by every update
+     */
+    private final List<GridListener> listeners = new ArrayList<>();
+
+    /**
+     * The number of beginUpdate calls not yet matched by a commitUpdate
+     */
+    private int updateDepth;
+
+    /**
+     * The cells changed by the current update, in the order they were first changed
+     */
+    private int[] changed;
+
+    /**
+     * Swapped with changed while listeners are told about an update, so changes listeners make to the grid do not
+     * overwrite the cells they are being told about
+     */
+    private int[] spareChanged;
+
+    /**
+     * Whether listeners are being told about an update
+     */
+    private boolean notifying;
+
+    /**
+     * The number of cells in changed
+     */
+    private int changedCount;
+
+    /**
+     * A bitmask of the cells in changed, so each cell is only listed once
+     */
+    private final long[] changedMask;
+
+    /**
+     * Tracks the completed lines of this grid as cells are filled and emptied
+     */
+    private final LineEngine lineEngine;
+
+    /**
+     * Create a new Grid with the specified number of columns and rows and initialise them
+     * @param cols number of columns
+     * @param rows number of rows
+     */
+    public Grid(int cols, int rows) {
+        if (cols <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Grid must have at least one row and column: " + cols + "x" + rows);
+        }
+        this.cols = cols;
+        this.rows = rows;
+
+        //Create the primitive storage, every cell starts empty
+        var cells = Math.multiplyExact(cols, rows);
+        values = new byte[cells];
+        occupancyWords = cells > WORD_SIZE ? new long[(cells + WORD_SIZE - 1) / WORD_SIZE] : null;
+        changed = new int[cells];
+        spareChanged = new int[cells];
+        changedMask = new long[(cells + WORD_SIZE - 1) / WORD_SIZE];
+
+        lineEngine = new LineEngine(this);
+    }
+
+    /**
+     * Check whether a piece can be played with its centre block at the given x and y. Every block of the piece must
+     * land inside the grid on an empty cell.
+     * @param gamePiece the piece to play
+     * @param x column of the centre of the piece
+     * @param y row of the centre of the piece
+     * @return true if the piece can be played, false if it cannot
+     */
+    public boolean canPlayPiece(GamePiece gamePiece, int x, int y) {
+        if (!fits(gamePiece, x, y)) {
+            return false;
+        }
+
+        if (occupancyWords == null) {
+            return (occupancy & footprint(gamePiece, x, y)) == 0;
+        }
+
+        for (var block = 0; block < gamePiece.getBlockCount(); block++) {
+            var index = (y + gamePiece.getOffsetY(block)) * cols + x + gamePiece.getOffsetX(block);
+            if ((occupancyWords[index / WORD_SIZE] & (1L << index)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Play a piece with its centre block at the given x and y, if it can be played there
+     * @param gamePiece the piece to play
+     * @param x column of the centre of the piece
+     * @param y row of the centre of the piece
+     * @return true if the piece was played, false if it could not be
+     */
+    public boolean playPiece(GamePiece gamePiece, int x, int y) {
+        if (!canPlayPiece(gamePiece, x, y)) {
+            return false;
+        }
+
+        //Every cell of the footprint is empty, so the whole piece is added to the occupancy in one write
+        if (occupancyWords == null) {
+            occupancy |= footprint(gamePiece, x, y);
+        }
+
+        var value = gamePiece.getValue();
+        beginUpdate();
+        for (var block = 0; block < gamePiece.getBlockCount(); block++) {
+            var index = (y + gamePiece.getOffsetY(block)) * cols + x + gamePiece.getOffsetX(block);
+            if (occupancyWords != null) {
+                occupancyWords[index / WORD_SIZE] |= 1L << index;
+            }
+            values[index] = (byte) value;
+            lineEngine.cellFilled(index);
+            markChanged(index);
+        }
+        commitUpdate();
+        return true;
+    }
+
+    /**
+     * Check the bounding box of a piece lies inside the grid when centred on the given x and y
+     * @param gamePiece the piece
+     * @param x column of the centre of the piece
+     * @param y row of the centre of the piece
+     * @return true if every block is inside the grid
+     */
+    private boolean fits(GamePiece gamePiece, int x, int y) {
+        return x - 1 + gamePiece.getMinX() >= 0 && x - 1 + gamePiece.getMaxX() < cols
+                && y - 1 + gamePiece.getMinY() >= 0 && y - 1 + gamePiece.getMaxY() < rows;
+    }
+
+    /**
+     * Get the cells a piece would cover as an occupancy bitmask. Only used on grids of at most 64 cells, and only for
+     * pieces which fit.
+     * @param gamePiece the piece
+     * @param x column of the centre of the piece
+     * @param y row of the centre of the piece
+     * @return the footprint bitmask
+     */
+    private long footprint(GamePiece gamePiece, int x, int y) {
+        var footprint = 0L;
+        for (var block = 0; block < gamePiece.getBlockCount(); block++) {
+            footprint |= 1L << ((y + gamePiece.getOffsetY(block)) * cols + x + gamePiece.getOffsetX(block));
+        }
+        return footprint;
+    }
+
+    /**
+     * Start grouping changes to the grid. Listeners are not told about any change until the matching commitUpdate.
+     * Updates can be nested, in which case listeners are told when the outermost update is committed.
+     */
+    public void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * Finish grouping changes started with beginUpdate. When this ends the outermost update, every listener is told
+     * about all of the cells changed since it began, in a single event.
+     *
+     * Listeners may change the grid while they are told about an update. Their changes are a new update, which every
+     * listener is told about in turn; the listeners still to hear about the first update are told the same cells as
+     * the others.
+     */
+    public void commitUpdate() {
+        if (updateDepth == 0) {
+            throw new IllegalStateException("commitUpdate called without beginUpdate");
+        }
+        if (--updateDepth > 0 || changedCount == 0) {
+            return;
+        }
+
+        var cells = changed;
+        var count = changedCount;
+        changedCount = 0;
+        for (var i = 0; i < count; i++) {
+            changedMask[cells[i] / WORD_SIZE] &= ~(1L << cells[i]);
+        }
+
+        //Changes made by listeners go into the other buffer. Changes made by listeners while they are told about one
+        //of those changes are rare enough to copy.
+        var outermost = !notifying;
+        if (outermost) {
+            changed = spareChanged;
+            spareChanged = cells;
+        } else {
+            cells = Arrays.copyOf(cells, count);
+        }
+
+        notifying = true;
+        try {
+            for (var i = 0; i < listeners.size(); i++) {
+                listeners.get(i).cellsChanged(this, cells, count);
+            }
+        } finally {
+            if (outermost) {
+                notifying = false;
+            }
+        }
+    }
+
+    /**
+     * Add a listener to be told about the cells changed by every update
+     * @param listener the listener to add
+     */
+    public void addListener(GridListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a listener added with addListener
+     * @param listener the listener to remove
+     */
+    public void removeListener(GridListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Update the value at the given x and y index within the grid
+     * @param x column
+     * @param y row
+     * @param value the new value
+     */
+    public void set(int x, int y, int value) {
+        var index = index(x, y);
+        if (values[index] == value) {
+            return;
+        }
+        store(index, value);
+
+        //A single change outside of an update is committed straight away
+        beginUpdate();
+        markChanged(index);
+        commitUpdate();
+    }
+
+    /**
+     * Get the value represented at the given x and y index within the grid
+     * @param x column
+     * @param y row
+     * @return the value, or -1 if there is no such index
+     */
+    public int get(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows) {
+            //No such index
+            return -1;
+        }
+        return values[y * cols + x];
+    }
+
+    /**
+     * Check whether the cell at the given x and y index holds a block
+     * @param x column
+     * @param y row
+     * @return true if the cell is filled, false if it is empty or there is no such index
+     */
+    public boolean isOccupied(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows) {
+            return false;
+        }
+        var index = y * cols + x;
+        return (getOccupancyWord(index / WORD_SIZE) & (1L << index)) != 0;
+    }
+
+    /**
+     * Get a word of the occupancy bitmask. Bit b of word w represents the cell with index w * 64 + b.
+     * @param word the word index
+     * @return the occupancy bits of that word
+     */
+    public long getOccupancyWord(int word) {
+        return occupancyWords == null ? occupancy : occupancyWords[word];
+    }
+
+    /**
+     * Get the number of words making up the occupancy bitmask
+     * @return number of occupancy words
+     */
+    public int getOccupancyWords() {
+        return occupancyWords == null ? 1 : occupancyWords.length;
+    }
+
+    /**
+     * Empty every cell whose bit is set in the given mask in a single masked write over the occupancy bitmask
+     * @param mask a bitmask with the same layout as the occupancy words
+     */
+    public void clear(long[] mask) {
+        //A large clear may be cheaper to count in bulk, before the occupancy changes, than cell by cell
+        var counted = lineEngine.cellsEmptied(mask);
+
+        beginUpdate();
+        for (var word = 0; word < mask.length; word++) {
+            //Only cells which are filled need clearing
+            var bits = mask[word] & getOccupancyWord(word);
+            if (bits == 0) continue;
+
+            if (occupancyWords == null) {
+                occupancy &= ~bits;
+            } else {
+                occupancyWords[word] &= ~bits;
+            }
+
+            //Zero the value of every cell in this word of the mask
+            while (bits != 0) {
+                var index = word * WORD_SIZE + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                values[index] = 0;
+                if (!counted) {
+                    lineEngine.cellEmptied(index);
+                }
+                markChanged(index);
+            }
+        }
+        commitUpdate();
+    }
+
+    /**
+     * Write a value into the primitive storage for the given cell, keeping the occupancy bitmask up to date
+     * @param index cell index
+     * @param value the new value
+     */
+    private void store(int index, int value) {
+        var wasFilled = values[index] != 0;
+        values[index] = (byte) value;
+        if (wasFilled == (value != 0)) {
+            return;
+        }
+
+        //The cell has been filled or emptied
+        var bit = 1L << index;
+        if (occupancyWords == null) {
+            occupancy ^= bit;
+        } else {
+            occupancyWords[index / WORD_SIZE] ^= bit;
+        }
+
+        if (wasFilled) {
+            lineEngine.cellEmptied(index);
+        } else {
+            lineEngine.cellFilled(index);
+        }
+    }
+
+    /**
+     * Add a cell to those changed by the current update, unless nobody is listening or it is already listed
+     * @param index cell index
+     */
+    private void markChanged(int index) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        var bit = 1L << index;
+        var word = index / WORD_SIZE;
+        if ((changedMask[word] & bit) == 0) {
+            changedMask[word] |= bit;
+            changed[changedCount++] = index;
+        }
+    }
+
+    /**
+     * Get the cell index of the given x and y
+     * @param x column
+     * @param y row
+     * @return cell index
+     */
+    private int index(int x, int y) {
+        if (x < 0 || x >= cols || y < 0 || y >= rows) {
+            throw new ArrayIndexOutOfBoundsException("No such block: " + x + "," + y);
+        }
+        return y * cols + x;
+    }
+
+    /**
+     * Get the engine tracking the completed lines of this grid
+     * @return the line engine
+     */
+    public LineEngine getLineEngine() {
+        return lineEngine;
+    }
+
+    /**
+     * Get the number of columns in this game
+     * @return number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Get the number of rows in this game
+     * @return number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+}
@@ -0,0 +1,95 @@
+package uk.ac.soton.comp1206.game;
+
+/**
+ * The LineClearResult holds the outcome of clearing the full lines of a Grid: which lines were cleared and how many
+ * unique blocks were removed.
+ *
+ * A single LineClearResult is owned by each LineEngine and reused for every clear, so the values should be read before
+ * the next clear takes place.
+ */
+public class LineClearResult {
+
+    /**
+     * The indexes of the lines cleared, only the first linesCleared entries are in use
+     */
+    private final int[] lines;
+
+    /**
+     * The number of lines cleared
+     */
+    private int linesCleared;
+
+    /**
+     * The number of unique blocks cleared. Blocks shared by two cleared lines are only counted once.
+     */
+    private int blocksCleared;
+
+    /**
+     * Create a new LineClearResult able to hold the given number of lines
+     * @param maxLines the number of lines on the board
+     */
+    LineClearResult(int maxLines) {
+        this.lines = new int[maxLines];
+    }
+
+    /**
+     * Empty this result ready for the next clear
+     */
+    void reset() {
+        linesCleared = 0;
+        blocksCleared = 0;
+    }
+
+    /**
+     * Record a cleared line
+     * @param line the index of the line
+     */
+    void addLine(int line) {
+        lines[linesCleared++] = line;
+    }
+
+    /**
+     * Set the number of unique blocks cleared
+     * @param blocksCleared number of blocks
+     */
+    void setBlocksCleared(int blocksCleared) {
+        this.blocksCleared = blocksCleared;
+    }
+
+    /**
+     * Get the number of lines cleared
+     * @return number of lines
+     */
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    /**
+     * Get the number of unique blocks cleared
+     * @return number of blocks
+     */
+    public int getBlocksCleared() {
+        return blocksCleared;
+    }
+
+    /**
+     * Get the index of a cleared line, as numbered by the LineEngine
+     * @param i which of the cleared lines, from 0 to getLinesCleared() - 1
+     * @return the line index
+     */
+    public int getLine(int i) {
+        if (i >= linesCleared) {
+            throw new IndexOutOfBoundsException("No such cleared line: " + i);
+        }
+        return lines[i];
+    }
+
+    /**
+     * Return the string representation of this result
+     * @return the lines and blocks cleared
+     */
+    public String toString() {
+        return linesCleared + " lines, " + blocksCleared + " blocks";
+    }
+
+}
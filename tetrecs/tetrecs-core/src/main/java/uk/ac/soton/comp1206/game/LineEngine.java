@@ -0,0 +1,364 @@
+package uk.ac.soton.comp1206.game;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The LineEngine finds and clears completed lines on a Grid of any size.
+ *
+ * Every line which can be cleared is worked out once, when the engine is created, and stored as a bitmask over the
+ * occupancy words of the Grid. The lines are numbered with every row first, then every column, then (on square boards
+ * only) the diagonal from the top left and the diagonal from the bottom left.
+ *
+ * Each Grid owns a LineEngine and tells it whenever a cell is filled or emptied. The engine keeps a count of the filled
+ * cells in every line and remembers the lines which became full, so finding the full lines after a move only looks at
+ * lines passing through the cells that move touched, however large the board is. All full lines are merged into one
+ * mask and cleared from the Grid in a single masked write.
+ *
+ * Clearing usually updates the counts cell by cell. When a clear empties so many cells that this would cost more than
+ * recounting every line against the cleared mask, every line is recounted instead with a popcount per mask word, and
+ * on large boards the lines are split between the threads of the fork/join pool.
+ */
+public class LineEngine {
+
+    private static final int WORD_SIZE = Long.SIZE;
+
+    /**
+     * The number of mask entries below which recounting lines is not split any further between threads
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * The grid this engine tracks
+     */
+    private final Grid grid;
+
+    /**
+     * Number of columns of the board
+     */
+    private final int cols;
+
+    /**
+     * Number of rows of the board
+     */
+    private final int rows;
+
+    /**
+     * The number of lines on the board
+     */
+    private final int lines;
+
+    /**
+     * The masks of line i are held in entries lineStart[i] to lineStart[i + 1] - 1 of maskWord and maskBits
+     */
+    private final int[] lineStart;
+
+    /**
+     * The occupancy word each mask entry applies to
+     */
+    private final int[] maskWord;
+
+    /**
+     * The bits of each mask entry
+     */
+    private final long[] maskBits;
+
+    /**
+     * The lines through cell c are held in entries cellStart[c] to cellStart[c + 1] - 1 of cellLines
+     */
+    private final int[] cellStart;
+
+    /**
+     * The lines passing through each cell
+     */
+    private final int[] cellLines;
+
+    /**
+     * The number of filled cells in each line
+     */
+    private final int[] lineFill;
+
+    /**
+     * The lines which have become full since the last clear, only the first fullCount entries are in use
+     */
+    private final int[] fullLines;
+
+    /**
+     * Whether each line is currently recorded in fullLines
+     */
+    private final boolean[] pending;
+
+    /**
+     * The number of lines recorded in fullLines
+     */
+    private int fullCount;
+
+    /**
+     * The union of every full line found during a clear
+     */
+    private final long[] clearMask;
+
+    /**
+     * The result of the last clear, reused between clears
+     */
+    private final LineClearResult result;
+
+    /**
+     * Create a new LineEngine tracking the given grid. Should only be called by the Grid itself.
+     * @param grid the grid to track
+     */
+    LineEngine(Grid grid) {
+        this.grid = grid;
+        this.cols = grid.getCols();
+        this.rows = grid.getRows();
+
+        var diagonals = cols == rows ? 2 : 0;
+        this.lines = rows + cols + diagonals;
+        var cells = cols * rows;
+
+        //Count the mask words each line covers. Cells along a line are in index order, so a line moves on to a new
+        //word whenever its word index changes.
+        var entries = 0;
+        var memberships = 0;
+        for (var line = 0; line < lines; line++) {
+            var length = getLength(line);
+            var previous = -1;
+            for (var i = 0; i < length; i++) {
+                var word = getCell(line, i) / WORD_SIZE;
+                if (word != previous) entries++;
+                previous = word;
+            }
+            memberships += length;
+        }
+
+        //Pack the mask of every line
+        lineStart = new int[lines + 1];
+        maskWord = new int[entries];
+        maskBits = new long[entries];
+        var entry = -1;
+        for (var line = 0; line < lines; line++) {
+            lineStart[line] = entry + 1;
+            var previous = -1;
+            for (var i = 0; i < getLength(line); i++) {
+                var cell = getCell(line, i);
+                var word = cell / WORD_SIZE;
+                if (word != previous) {
+                    entry++;
+                    maskWord[entry] = word;
+                }
+                maskBits[entry] |= 1L << cell;
+                previous = word;
+            }
+        }
+        lineStart[lines] = entry + 1;
+
+        //Index the lines passing through every cell
+        cellStart = new int[cells + 1];
+        cellLines = new int[memberships];
+        for (var line = 0; line < lines; line++) {
+            for (var i = 0; i < getLength(line); i++) {
+                cellStart[getCell(line, i) + 1]++;
+            }
+        }
+        for (var cell = 0; cell < cells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        var next = new int[cells];
+        for (var line = 0; line < lines; line++) {
+            for (var i = 0; i < getLength(line); i++) {
+                var cell = getCell(line, i);
+                cellLines[cellStart[cell] + next[cell]++] = line;
+            }
+        }
+
+        lineFill = new int[lines];
+        fullLines = new int[lines];
+        pending = new boolean[lines];
+        clearMask = new long[(cells + WORD_SIZE - 1) / WORD_SIZE];
+        result = new LineClearResult(lines);
+    }
+
+    /**
+     * Called by the Grid when an empty cell is filled
+     * @param cell cell index
+     */
+    void cellFilled(int cell) {
+        for (var i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            var line = cellLines[i];
+            if (++lineFill[line] == getLength(line) && !pending[line]) {
+                pending[line] = true;
+                fullLines[fullCount++] = line;
+            }
+        }
+    }
+
+    /**
+     * Called by the Grid when a filled cell is emptied
+     * @param cell cell index
+     */
+    void cellEmptied(int cell) {
+        for (var i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            lineFill[cellLines[i]]--;
+        }
+    }
+
+    /**
+     * Called by the Grid before every cell in the given mask is emptied. If so many cells are being emptied that
+     * updating the count of every line at once is cheaper than calling cellEmptied for each cell, the counts are
+     * updated here.
+     * @param mask a bitmask with the same layout as the occupancy words
+     * @return true if the counts were updated, false if cellEmptied should be called for each cell
+     */
+    boolean cellsEmptied(long[] mask) {
+        //Emptying cell by cell costs a step for every line through every filled cell in the mask, recounting costs a
+        //step for every mask entry
+        var emptied = 0L;
+        for (var word = 0; word < mask.length; word++) {
+            emptied += Long.bitCount(mask[word] & grid.getOccupancyWord(word));
+        }
+        if (emptied * cellLines.length <= (long) maskBits.length * (cellStart.length - 1)) {
+            return false;
+        }
+
+        new Recount(mask, 0, lines).invoke();
+        return true;
+    }
+
+    /**
+     * Take the filled cells of a mask away from the count of every line in a range, splitting the range between
+     * threads when it covers enough mask entries
+     */
+    private class Recount extends RecursiveAction {
+
+        private final long[] mask;
+        private final int from;
+        private final int to;
+
+        Recount(long[] mask, int from, int to) {
+            this.mask = mask;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && lineStart[to] - lineStart[from] > PARALLEL_THRESHOLD) {
+                var middle = (from + to) >>> 1;
+                invokeAll(new Recount(mask, from, middle), new Recount(mask, middle, to));
+                return;
+            }
+
+            //Each line only writes its own count, so ranges never touch the same entry
+            for (var line = from; line < to; line++) {
+                var emptied = 0;
+                for (var entry = lineStart[line]; entry < lineStart[line + 1]; entry++) {
+                    var word = maskWord[entry];
+                    emptied += Long.bitCount(maskBits[entry] & mask[word] & grid.getOccupancyWord(word));
+                }
+                lineFill[line] -= emptied;
+            }
+        }
+    }
+
+    /**
+     * Clear every line which has become full since the last clear, all at once. Only the lines through cells filled
+     * since the last clear are looked at.
+     * @return the lines and number of unique blocks cleared. The same object is returned by every call.
+     */
+    public LineClearResult clearFullLines() {
+        result.reset();
+
+        //A line may have been emptied again after it became full, so check the count is still complete
+        for (var i = 0; i < fullCount; i++) {
+            var line = fullLines[i];
+            pending[line] = false;
+            if (!isFull(line)) continue;
+
+            result.addLine(line);
+            for (var entry = lineStart[line]; entry < lineStart[line + 1]; entry++) {
+                clearMask[maskWord[entry]] |= maskBits[entry];
+            }
+        }
+        fullCount = 0;
+
+        if (result.getLinesCleared() == 0) {
+            return result;
+        }
+
+        //Count the unique blocks, then remove them all in one write
+        var blocks = 0;
+        for (var bits : clearMask) {
+            blocks += Long.bitCount(bits);
+        }
+        result.setBlocksCleared(blocks);
+        grid.clear(clearMask);
+
+        for (var word = 0; word < clearMask.length; word++) {
+            clearMask[word] = 0;
+        }
+        return result;
+    }
+
+    /**
+     * Check whether every cell in the given line is filled
+     * @param line the line index
+     * @return true if the line is full
+     */
+    public boolean isFull(int line) {
+        return lineFill[line] == getLength(line);
+    }
+
+    /**
+     * Get the number of filled cells in the given line
+     * @param line the line index
+     * @return number of filled cells
+     */
+    public int getFill(int line) {
+        return lineFill[line];
+    }
+
+    /**
+     * Get the number of cells in the given line
+     * @param line the line index
+     * @return number of cells
+     */
+    public int getLength(int line) {
+        if (line < rows) {
+            return cols;
+        } else if (line < rows + cols) {
+            return rows;
+        } else {
+            return cols;
+        }
+    }
+
+    /**
+     * Get the cell index of the i-th cell along a line
+     * @param line the line index
+     * @param i position along the line
+     * @return cell index in the grid
+     */
+    public int getCell(int line, int i) {
+        if (line < rows) {
+            //Row
+            return line * cols + i;
+        } else if (line < rows + cols) {
+            //Column
+            return i * cols + (line - rows);
+        } else if (line == rows + cols) {
+            //Diagonal from the top left to the bottom right
+            return i * cols + i;
+        } else {
+            //Diagonal from the bottom left to the top right
+            return (rows - 1 - i) * cols + i;
+        }
+    }
+
+    /**
+     * Get the number of lines on the board
+     * @return number of lines
+     */
+    public int getLines() {
+        return lines;
+    }
+
+}
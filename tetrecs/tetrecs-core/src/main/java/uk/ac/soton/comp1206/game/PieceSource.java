@@ -0,0 +1,159 @@
+package uk.ac.soton.comp1206.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * The Piece Source deals the pieces of a game. It is seeded, so the same seed and strategy always deal the same pieces,
+ * and it owns its random numbers, so sources used on different threads never share or contend on any state.
+ *
+ * The next QUEUE_SIZE pieces are always worked out ahead of time and held in a ring buffer, so they can be looked at
+ * before they are dealt.
+ */
+public class PieceSource {
+
+    /**
+     * The number of upcoming pieces held in the queue. Must be a power of two.
+     */
+    public static final int QUEUE_SIZE = 8;
+
+    /**
+     * The seed the random numbers started from
+     */
+    private final long seed;
+
+    /**
+     * Whether the random numbers started from seed, rather than being split from another source
+     */
+    private final boolean seeded;
+
+    /**
+     * The random numbers used by the strategy
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Decides which piece comes next
+     */
+    private final PieceStrategy strategy;
+
+    /**
+     * The upcoming piece numbers. The next piece is at head.
+     */
+    private final int[] queue = new int[QUEUE_SIZE];
+
+    /**
+     * The position of the next piece in the queue
+     */
+    private int head = 0;
+
+    /**
+     * Create a new PieceSource dealing every piece with equal chance
+     * @param seed the seed
+     */
+    public PieceSource(long seed) {
+        this(seed, PieceStrategy.uniform());
+    }
+
+    /**
+     * Create a new PieceSource
+     * @param seed the seed
+     * @param strategy the strategy deciding which piece comes next. Should not be shared with another source.
+     */
+    public PieceSource(long seed, PieceStrategy strategy) {
+        this(seed, true, new SplittableRandom(seed), strategy);
+    }
+
+    /**
+     * Create a new PieceSource from random numbers split from another source
+     * @param random the random numbers, owned by this source from now on
+     * @param strategy the strategy deciding which piece comes next. Should not be shared with another source.
+     */
+    private PieceSource(SplittableRandom random, PieceStrategy strategy) {
+        this(0, false, random, strategy);
+    }
+
+    /**
+     * Create a new PieceSource and fill its queue
+     * @param seed the seed, if seeded
+     * @param seeded whether the random numbers started from the seed
+     * @param random the random numbers
+     * @param strategy the strategy deciding which piece comes next
+     */
+    private PieceSource(long seed, boolean seeded, SplittableRandom random, PieceStrategy strategy) {
+        this.seed = seed;
+        this.seeded = seeded;
+        this.random = random;
+        this.strategy = strategy;
+
+        for (var i = 0; i < QUEUE_SIZE; i++) {
+            queue[i] = strategy.nextPiece(random);
+        }
+    }
+
+    /**
+     * Create a PieceSource with a seed nobody has chosen, for games which do not need to be repeated
+     * @return the new source
+     */
+    public static PieceSource unseeded() {
+        return new PieceSource(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Deal the next piece
+     * @return the next piece
+     */
+    public GamePiece next() {
+        var piece = queue[head];
+
+        //Replace the dealt piece with a new one at the back of the queue
+        queue[head] = strategy.nextPiece(random);
+        head = (head + 1) & (QUEUE_SIZE - 1);
+        return GamePiece.createPiece(piece);
+    }
+
+    /**
+     * Look at an upcoming piece without dealing it
+     * @param ahead how far ahead to look, 0 being the next piece
+     * @return the upcoming piece
+     */
+    public GamePiece peek(int ahead) {
+        if (ahead < 0 || ahead >= QUEUE_SIZE) {
+            throw new IndexOutOfBoundsException("Can only look " + QUEUE_SIZE + " pieces ahead: " + ahead);
+        }
+        return GamePiece.createPiece(queue[(head + ahead) & (QUEUE_SIZE - 1)]);
+    }
+
+    /**
+     * Create a child source with random numbers split from this one and a fresh copy of the strategy. The child shares
+     * no state with this source, so it can be handed to another thread, and its random numbers do not overlap those
+     * of this source or its other children. Splitting is deterministic: the same source split in the same order always
+     * gives the same children.
+     *
+     * A child has no seed of its own which would deal the same pieces, so its games cannot be recorded to a replay.
+     * @return the child source
+     */
+    public PieceSource split() {
+        return new PieceSource(random.split(), strategy.copy());
+    }
+
+    /**
+     * Get the seed of this source
+     * @return seed
+     * @throws IllegalStateException if this source was split from another, so has no seed
+     */
+    public long getSeed() {
+        if (!seeded) {
+            throw new IllegalStateException("A source split from another has no seed");
+        }
+        return seed;
+    }
+
+    /**
+     * Get the strategy deciding which piece comes next
+     * @return strategy
+     */
+    public PieceStrategy getStrategy() {
+        return strategy;
+    }
+
+}
@@ -0,0 +1,50 @@
+package uk.ac.soton.comp1206.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * A Piece Strategy decides which piece number comes next, using the random numbers of a PieceSource.
+ *
+ * Strategies may hold state between pieces (for example, what is left in a bag), so every PieceSource needs its own
+ * copy.
+ */
+public interface PieceStrategy {
+
+    /**
+     * Choose the next piece number
+     * @param random the random numbers to use
+     * @return piece number, from 0 to GamePiece.PIECES - 1
+     */
+    public int nextPiece(SplittableRandom random);
+
+    /**
+     * Create a fresh copy of this strategy, in its starting state
+     * @return the new strategy
+     */
+    public PieceStrategy copy();
+
+    /**
+     * Every piece is equally likely every time
+     * @return a uniform strategy
+     */
+    static PieceStrategy uniform() {
+        return new UniformPieceStrategy();
+    }
+
+    /**
+     * Deal every piece once, in a shuffled order, before any piece repeats
+     * @return a bag strategy
+     */
+    static PieceStrategy bag() {
+        return new BagPieceStrategy();
+    }
+
+    /**
+     * Choose pieces in proportion to the given weights
+     * @param weights the weight of every piece number, GamePiece.PIECES of them
+     * @return a weighted strategy
+     */
+    static PieceStrategy weighted(int... weights) {
+        return new WeightedPieceStrategy(weights);
+    }
+}
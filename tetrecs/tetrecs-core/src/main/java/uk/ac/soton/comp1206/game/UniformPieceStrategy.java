@@ -0,0 +1,25 @@
+package uk.ac.soton.comp1206.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * The Uniform Piece Strategy makes every piece equally likely every time, the same as the original game.
+ */
+public class UniformPieceStrategy implements PieceStrategy {
+
+    @Override
+    public int nextPiece(SplittableRandom random) {
+        return random.nextInt(GamePiece.PIECES);
+    }
+
+    @Override
+    public PieceStrategy copy() {
+        return new UniformPieceStrategy();
+    }
+
+    @Override
+    public String toString() {
+        return "uniform";
+    }
+
+}
@@ -0,0 +1,74 @@
+package uk.ac.soton.comp1206.game;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The Weighted Piece Strategy chooses each piece in proportion to its weight, for example to make awkward pieces rarer.
+ */
+public class WeightedPieceStrategy implements PieceStrategy {
+
+    /**
+     * The weight of every piece
+     */
+    private final int[] weights;
+
+    /**
+     * The running total of the weights, so piece i is chosen for any number from cumulative[i - 1] to cumulative[i] - 1
+     */
+    private final int[] cumulative;
+
+    /**
+     * Create a new weighted strategy
+     * @param weights the weight of every piece number, GamePiece.PIECES of them
+     */
+    public WeightedPieceStrategy(int... weights) {
+        if (weights.length != GamePiece.PIECES) {
+            throw new IllegalArgumentException("Expected " + GamePiece.PIECES + " weights, got " + weights.length);
+        }
+
+        this.weights = weights.clone();
+        this.cumulative = new int[weights.length];
+        var total = 0;
+        for (var piece = 0; piece < weights.length; piece++) {
+            if (weights[piece] < 0) {
+                throw new IllegalArgumentException("Negative weight for piece " + piece);
+            }
+            total += weights[piece];
+            cumulative[piece] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one piece needs a weight");
+        }
+    }
+
+    @Override
+    public int nextPiece(SplittableRandom random) {
+        var choice = random.nextInt(cumulative[cumulative.length - 1]);
+        for (var piece = 0; piece < cumulative.length; piece++) {
+            if (choice < cumulative[piece]) {
+                return piece;
+            }
+        }
+        throw new IllegalStateException("No piece chosen");
+    }
+
+    /**
+     * Get the weight of every piece
+     * @return a copy of the weights
+     */
+    public int[] getWeights() {
+        return weights.clone();
+    }
+
+    @Override
+    public PieceStrategy copy() {
+        return new WeightedPieceStrategy(weights);
+    }
+
+    @Override
+    public String toString() {
+        return "weighted " + Arrays.toString(weights);
+    }
+
+}
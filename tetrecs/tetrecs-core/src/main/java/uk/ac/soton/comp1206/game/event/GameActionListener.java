@@ -0,0 +1,30 @@
+package uk.ac.soton.comp1206.game.event;
+
+/**
+ * The Game Action Listener is told about every action which changes the course of a game, for example to record it.
+ */
+public interface GameActionListener {
+
+    /**
+     * Handle the game being started, which deals new current and following pieces
+     */
+    public void gameStarted();
+
+    /**
+     * Handle the current piece being played
+     * @param x column the piece was centred on
+     * @param y row the piece was centred on
+     */
+    public void piecePlayed(int x, int y);
+
+    /**
+     * Handle the current piece being rotated
+     * @param rotations number of rotations
+     */
+    public void pieceRotated(int rotations);
+
+    /**
+     * Handle the current and following pieces being swapped
+     */
+    public void pieceSwapped();
+}
@@ -0,0 +1,20 @@
+package uk.ac.soton.comp1206.game.event;
+
+import uk.ac.soton.comp1206.game.Grid;
+
+/**
+ * The Grid Listener is used to listen for changes to the values held in a Grid, for example to update a view of it.
+ *
+ * Listeners are called once per update to the grid, with every cell it touched, so a view can redraw once per move.
+ */
+public interface GridListener {
+
+    /**
+     * Handle an update to the grid. The new values can be read from the grid. A cell may be listed even if it ended
+     * the update holding the value it started with.
+     * @param grid the grid which changed
+     * @param cells the index (y * cols + x) of each cell changed. The array is reused, and only valid during the call.
+     * @param count the number of cells changed
+     */
+    public void cellsChanged(Grid grid, int[] cells, int count);
+}
@@ -1,4 +1,4 @@
-package uk.ac.soton.comp1206.event;
+package uk.ac.soton.comp1206.game.event;
 
 import uk.ac.soton.comp1206.game.GamePiece;
 
@@ -0,0 +1,108 @@
+package uk.ac.soton.comp1206.replay;
+
+import uk.ac.soton.comp1206.game.BagPieceStrategy;
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.PieceStrategy;
+import uk.ac.soton.comp1206.game.UniformPieceStrategy;
+import uk.ac.soton.comp1206.game.WeightedPieceStrategy;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The layout of a replay file, shared by the ReplayRecorder and ReplayPlayer.
+ *
+ * A replay starts with a header: the magic number, the format version, the columns and rows of the board, the seed of
+ * the piece source and its strategy. Then follows one varint per action, holding the action in its lowest two bits:
+ * a piece played (with the index of the cell it was centred on above), a rotation (with the number of rotations
+ * above), a swap, or the game being started.
+ */
+final class ReplayFormat {
+
+    static final int MAGIC = 0x54525031;
+    static final int VERSION = 1;
+
+    static final int PLAY = 0;
+    static final int ROTATE = 1;
+    static final int SWAP = 2;
+    static final int START = 3;
+
+    static final int UNIFORM = 0;
+    static final int BAG = 1;
+    static final int WEIGHTED = 2;
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * Write a non-negative number in as few bytes as possible, 7 bits to a byte
+     * @param buffer the buffer to write to
+     * @param value the number
+     */
+    static void writeVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7f) != 0) {
+            buffer.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Read a number written by writeVarint
+     * @param buffer the buffer to read from
+     * @return the number
+     */
+    static int readVarint(ByteBuffer buffer) {
+        var value = 0;
+        for (var shift = 0; shift < 32; shift += 7) {
+            var b = buffer.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint in replay");
+    }
+
+    /**
+     * Write a strategy into the header
+     * @param buffer the buffer to write to
+     * @param strategy the strategy
+     */
+    static void writeStrategy(ByteBuffer buffer, PieceStrategy strategy) {
+        if (strategy instanceof UniformPieceStrategy) {
+            writeVarint(buffer, UNIFORM);
+        } else if (strategy instanceof BagPieceStrategy) {
+            writeVarint(buffer, BAG);
+        } else if (strategy instanceof WeightedPieceStrategy) {
+            writeVarint(buffer, WEIGHTED);
+            for (var weight : ((WeightedPieceStrategy) strategy).getWeights()) {
+                writeVarint(buffer, weight);
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot record games using the strategy " + strategy);
+        }
+    }
+
+    /**
+     * Read a strategy written by writeStrategy
+     * @param buffer the buffer to read from
+     * @return a new strategy in its starting state
+     */
+    static PieceStrategy readStrategy(ByteBuffer buffer) {
+        var strategy = readVarint(buffer);
+        switch (strategy) {
+            case UNIFORM:
+                return PieceStrategy.uniform();
+            case BAG:
+                return PieceStrategy.bag();
+            case WEIGHTED:
+                var weights = new int[GamePiece.PIECES];
+                for (var piece = 0; piece < weights.length; piece++) {
+                    weights[piece] = readVarint(buffer);
+                }
+                return PieceStrategy.weighted(weights);
+            default:
+                throw new IllegalStateException("Unknown strategy in replay: " + strategy);
+        }
+    }
+}
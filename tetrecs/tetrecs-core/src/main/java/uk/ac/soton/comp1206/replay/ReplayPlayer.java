@@ -0,0 +1,116 @@
+package uk.ac.soton.comp1206.replay;
+
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.PieceSource;
+import uk.ac.soton.comp1206.game.PieceStrategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * The Replay Player rebuilds a game recorded by a ReplayRecorder, headlessly, by dealing the same pieces from the
+ * recorded seed and taking the recorded actions again. It can be used to reproduce bugs or check a score.
+ *
+ * Replay files are memory mapped rather than read, so replaying is limited by the speed of the game model itself.
+ */
+public class ReplayPlayer {
+
+    private final int cols;
+    private final int rows;
+    private final long seed;
+    private final PieceStrategy strategy;
+
+    /**
+     * The recorded actions, positioned after the header
+     */
+    private final ByteBuffer actions;
+
+    /**
+     * Open a replay file
+     * @param path the file recorded to
+     * @return the player
+     * @throws IOException if the file cannot be read
+     */
+    public static ReplayPlayer open(Path path) throws IOException {
+        try (var channel = FileChannel.open(path)) {
+            return new ReplayPlayer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Read a replay held in memory
+     * @param replay the bytes of the replay
+     */
+    public ReplayPlayer(ByteBuffer replay) {
+        if (replay.getInt() != ReplayFormat.MAGIC) {
+            throw new IllegalArgumentException("Not a TetrECS replay");
+        }
+        var version = ReplayFormat.readVarint(replay);
+        if (version != ReplayFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported replay version " + version);
+        }
+        cols = ReplayFormat.readVarint(replay);
+        rows = ReplayFormat.readVarint(replay);
+        seed = replay.getLong();
+        strategy = ReplayFormat.readStrategy(replay);
+        actions = replay.slice();
+    }
+
+    /**
+     * Replay the game from the start
+     * @return the game, in the state it was in when recording stopped
+     */
+    public Game replay() {
+        var game = new Game(cols, rows, new PieceSource(seed, strategy.copy()));
+        var actions = this.actions.duplicate();
+
+        while (actions.hasRemaining()) {
+            var action = ReplayFormat.readVarint(actions);
+            var argument = action >>> 2;
+            switch (action & 3) {
+                case ReplayFormat.PLAY:
+                    if (!game.blockClicked(argument % cols, argument / cols)) {
+                        throw new IllegalStateException("Replay diverged: cannot play at cell " + argument);
+                    }
+                    break;
+                case ReplayFormat.ROTATE:
+                    game.rotateCurrentPiece(argument);
+                    break;
+                case ReplayFormat.SWAP:
+                    game.swapCurrentPiece();
+                    break;
+                default:
+                    game.initialiseGame();
+                    break;
+            }
+        }
+        return game;
+    }
+
+    /**
+     * Get the number of columns of the recorded game
+     * @return number of columns
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Get the number of rows of the recorded game
+     * @return number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Get the seed the recorded game was dealt from
+     * @return seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+}
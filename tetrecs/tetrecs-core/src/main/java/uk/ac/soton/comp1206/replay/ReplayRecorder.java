@@ -0,0 +1,134 @@
+package uk.ac.soton.comp1206.replay;
+
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.event.GameActionListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The Replay Recorder records a game as it is played, so it can be replayed later with a ReplayPlayer.
+ *
+ * Only the seed of the game and the actions taken are recorded, each action as a varint of one to three bytes. Actions
+ * are collected in a buffer and only written to the channel when it fills up or the recorder is closed, so recording
+ * costs a move a few bytes copied into memory.
+ *
+ * The recorder must be attached before the game is started, and closed when the game is over.
+ */
+public class ReplayRecorder implements GameActionListener, AutoCloseable {
+
+    /**
+     * Size of the buffer collecting actions
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The largest number of bytes a single action can take
+     */
+    private static final int MAX_ACTION_SIZE = 5;
+
+    private final Game game;
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Start recording a game to a file, replacing anything already there
+     * @param game the game to record, not yet started
+     * @param path the file to record to
+     * @return the recorder
+     * @throws IOException if the file cannot be opened
+     */
+    public static ReplayRecorder record(Game game, Path path) throws IOException {
+        var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new ReplayRecorder(game, channel);
+    }
+
+    /**
+     * Start recording a game to a channel. The recorder attaches itself to the game as its action listener.
+     * @param game the game to record, not yet started
+     * @param channel the channel to record to, closed when the recorder is closed
+     */
+    public ReplayRecorder(Game game, WritableByteChannel channel) {
+        this.game = game;
+        this.channel = channel;
+
+        var source = game.getPieceSource();
+        buffer.putInt(ReplayFormat.MAGIC);
+        ReplayFormat.writeVarint(buffer, ReplayFormat.VERSION);
+        ReplayFormat.writeVarint(buffer, game.getCols());
+        ReplayFormat.writeVarint(buffer, game.getRows());
+        buffer.putLong(source.getSeed());
+        ReplayFormat.writeStrategy(buffer, source.getStrategy());
+
+        game.setActionListener(this);
+    }
+
+    @Override
+    public void gameStarted() {
+        append(ReplayFormat.START);
+    }
+
+    @Override
+    public void piecePlayed(int x, int y) {
+        append(((y * game.getCols() + x) << 2) | ReplayFormat.PLAY);
+    }
+
+    @Override
+    public void pieceRotated(int rotations) {
+        var rotation = Math.floorMod(rotations, GamePiece.ROTATIONS);
+        if (rotation != 0) {
+            append((rotation << 2) | ReplayFormat.ROTATE);
+        }
+    }
+
+    @Override
+    public void pieceSwapped() {
+        append(ReplayFormat.SWAP);
+    }
+
+    /**
+     * Add an action to the buffer, writing the buffer out first if it is nearly full
+     * @param action the encoded action
+     */
+    private void append(int action) {
+        if (buffer.remaining() < MAX_ACTION_SIZE) {
+            flush();
+        }
+        ReplayFormat.writeVarint(buffer, action);
+    }
+
+    /**
+     * Write every buffered action to the channel
+     */
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write replay", e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Write any buffered actions, stop recording and close the channel
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        game.setActionListener(null);
+        channel.close();
+    }
+
+}
@@ -0,0 +1,305 @@
+package uk.ac.soton.comp1206.search;
+
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.GamePiece;
+import uk.ac.soton.comp1206.game.Grid;
+import uk.ac.soton.comp1206.game.LineEngine;
+import uk.ac.soton.comp1206.simulation.Move;
+import uk.ac.soton.comp1206.simulation.PlacementPolicy;
+
+/**
+ * The Placement Search finds the best place to play the next piece. It can be used to give the player a hint, or as
+ * the policy of a simulated game.
+ *
+ * Every way of playing the current piece is tried (swapping with the following piece first or not, in every rotation,
+ * at every block), and with a depth of two every way of then playing the other piece is tried on each resulting board.
+ * The boards reached are scored by the points won clearing lines plus a heuristic rewarding empty cells and lines
+ * which are close to being cleared.
+ *
+ * The search works directly on the occupancy bitmask of the grid, so it only supports boards of up to 64 cells. Every
+ * position searched is remembered in a TranspositionTable, so positions which come up again are answered at once.
+ * Searches ignore the multiplier, so a position has the same best move whatever the multiplier.
+ */
+public class PlacementSearch implements PlacementPolicy {
+
+    /**
+     * The encoded move returned when there is nowhere to play
+     */
+    private static final int NO_MOVE = -1;
+
+    /**
+     * The value of each empty cell left on the board
+     */
+    private static final int EMPTY_WEIGHT = 6;
+
+    /**
+     * The value taken away when the second piece cannot be played anywhere
+     */
+    private static final int DEAD_PENALTY = 1000;
+
+    private final int cols;
+    private final int rows;
+    private final int cells;
+
+    /**
+     * How many pieces ahead to search, 1 or 2
+     */
+    private final int depth;
+
+    /**
+     * The cells covered by every piece in every rotation centred on every cell, indexed by
+     * (piece * ROTATIONS + rotation) and cell. 0 where the piece does not fit on the board.
+     */
+    private final long[][] footprints;
+
+    /**
+     * Whether a rotation has the same shape as an earlier rotation of the same piece, so does not need trying
+     */
+    private final boolean[] repeatedRotation;
+
+    /**
+     * The bitmask of every line which can be cleared
+     */
+    private final long[] lineMasks;
+
+    /**
+     * Remembers positions already searched
+     */
+    private final TranspositionTable table;
+
+    /**
+     * The points won by the last call to place
+     */
+    private int placedPoints;
+
+    /**
+     * Create a new two-piece search with a table of 65536 positions
+     * @param cols number of columns of the board
+     * @param rows number of rows of the board
+     */
+    public PlacementSearch(int cols, int rows) {
+        this(cols, rows, 2, 1 << 16);
+    }
+
+    /**
+     * Create a new search
+     * @param cols number of columns of the board
+     * @param rows number of rows of the board
+     * @param depth how many pieces ahead to search, 1 or 2
+     * @param tableSlots the number of positions the transposition table can hold
+     */
+    public PlacementSearch(int cols, int rows, int depth, int tableSlots) {
+        if (cols * rows > Long.SIZE) {
+            throw new IllegalArgumentException("Placement search supports boards of up to 64 cells, not "
+                    + cols + "x" + rows);
+        }
+        if (depth < 1 || depth > 2) {
+            throw new IllegalArgumentException("Depth must be 1 or 2: " + depth);
+        }
+
+        this.cols = cols;
+        this.rows = rows;
+        this.cells = cols * rows;
+        this.depth = depth;
+        this.table = new TranspositionTable(tableSlots);
+
+        //Work out where every piece fits, using a scratch grid to test each placement
+        var shapes = GamePiece.PIECES * GamePiece.ROTATIONS;
+        var grid = new Grid(cols, rows);
+        footprints = new long[shapes][cells];
+        repeatedRotation = new boolean[shapes];
+        for (var shape = 0; shape < shapes; shape++) {
+            var piece = GamePiece.createPiece(shape / GamePiece.ROTATIONS, shape % GamePiece.ROTATIONS);
+            for (var earlier = shape - shape % GamePiece.ROTATIONS; earlier < shape; earlier++) {
+                if (GamePiece.createPiece(earlier / GamePiece.ROTATIONS, earlier % GamePiece.ROTATIONS).getMask()
+                        == piece.getMask()) {
+                    repeatedRotation[shape] = true;
+                }
+            }
+            for (var cell = 0; cell < cells; cell++) {
+                var x = cell % cols;
+                var y = cell / cols;
+                if (!grid.canPlayPiece(piece, x, y)) continue;
+                for (var block = 0; block < piece.getBlockCount(); block++) {
+                    footprints[shape][cell] |= 1L << ((y + piece.getOffsetY(block)) * cols + x + piece.getOffsetX(block));
+                }
+            }
+        }
+
+        //Take the lines from the line engine of the scratch grid
+        LineEngine lines = grid.getLineEngine();
+        lineMasks = new long[lines.getLines()];
+        for (var line = 0; line < lineMasks.length; line++) {
+            for (var i = 0; i < lines.getLength(line); i++) {
+                lineMasks[line] |= 1L << lines.getCell(line, i);
+            }
+        }
+    }
+
+    /**
+     * Choose the best move of a game, as a PlacementPolicy
+     * @param game the game being played
+     * @param move filled in with the chosen move
+     * @return true if a move was chosen, false if neither piece can be played
+     */
+    @Override
+    public boolean chooseMove(Game game, Move move) {
+        return findBestMove(game.getGrid(), game.getCurrentPiece(), game.getFollowingPiece(), move);
+    }
+
+    /**
+     * Find the best move on a grid
+     * @param grid the grid, which must be the size this search was created for
+     * @param current the current piece
+     * @param following the following piece, which can be swapped in before playing
+     * @param move filled in with the best move. The rotation is relative to the rotation the piece is in now.
+     * @return true if a move was found, false if neither piece can be played
+     */
+    public boolean findBestMove(Grid grid, GamePiece current, GamePiece following, Move move) {
+        if (grid.getCols() != cols || grid.getRows() != rows) {
+            throw new IllegalArgumentException("Grid is " + grid.getCols() + "x" + grid.getRows()
+                    + ", expected " + cols + "x" + rows);
+        }
+
+        var board = grid.getOccupancyWord(0);
+        var first = current.getType();
+        var second = following.getType();
+
+        int best;
+        var slot = table.find(board, first, second);
+        if (slot != TranspositionTable.MISSING) {
+            best = table.getMove(slot);
+        } else {
+            best = search(board, first, second);
+        }
+
+        if (best == NO_MOVE) {
+            return false;
+        }
+
+        //Decode the move, turning the rotation into one relative to the piece as it is now
+        var swap = (best >>> 16) != 0;
+        var rotation = (best >>> 8) & 0xff;
+        var cell = best & 0xff;
+        var piece = swap ? following : current;
+        move.set(swap, Math.floorMod(rotation - piece.getRotation(), GamePiece.ROTATIONS), cell % cols, cell / cols);
+        return true;
+    }
+
+    /**
+     * Search every way of playing the first piece, or swapping and playing the second, and remember the best
+     * @return the best move encoded as (swap << 16 | rotation << 8 | cell), or NO_MOVE
+     */
+    private int search(long board, int first, int second) {
+        var bestMove = NO_MOVE;
+        var bestValue = Integer.MIN_VALUE;
+
+        for (var swap = 0; swap < 2; swap++) {
+            //Swapping identical pieces changes nothing
+            if (swap == 1 && first == second) break;
+
+            var played = swap == 0 ? first : second;
+            var next = swap == 0 ? second : first;
+            for (var rotation = 0; rotation < GamePiece.ROTATIONS; rotation++) {
+                var shape = played * GamePiece.ROTATIONS + rotation;
+                if (repeatedRotation[shape]) continue;
+
+                for (var cell = 0; cell < cells; cell++) {
+                    var footprint = footprints[shape][cell];
+                    if (footprint == 0 || (board & footprint) != 0) continue;
+
+                    var after = place(board, footprint);
+                    var value = placedPoints + (depth > 1 ? followUp(after, next) : evaluate(after));
+                    if (value > bestValue) {
+                        bestValue = value;
+                        bestMove = (swap << 16) | (rotation << 8) | cell;
+                    }
+                }
+            }
+        }
+
+        table.store(board, first, second, bestMove, bestValue);
+        return bestMove;
+    }
+
+    /**
+     * Find the value of the best way of playing a single piece on a board
+     * @param board the board
+     * @param piece the piece number
+     * @return the value of the best placement
+     */
+    private int followUp(long board, int piece) {
+        var slot = table.find(board, piece, -1);
+        if (slot != TranspositionTable.MISSING) {
+            return table.getValue(slot);
+        }
+
+        var bestMove = NO_MOVE;
+        var bestValue = evaluate(board) - DEAD_PENALTY;
+        for (var rotation = 0; rotation < GamePiece.ROTATIONS; rotation++) {
+            var shape = piece * GamePiece.ROTATIONS + rotation;
+            if (repeatedRotation[shape]) continue;
+
+            for (var cell = 0; cell < cells; cell++) {
+                var footprint = footprints[shape][cell];
+                if (footprint == 0 || (board & footprint) != 0) continue;
+
+                var after = place(board, footprint);
+                var value = placedPoints + evaluate(after);
+                if (bestMove == NO_MOVE || value > bestValue) {
+                    bestValue = value;
+                    bestMove = (rotation << 8) | cell;
+                }
+            }
+        }
+
+        table.store(board, piece, -1, bestMove, bestValue);
+        return bestValue;
+    }
+
+    /**
+     * Play a footprint on a board and clear any lines it completes. The points won are left in placedPoints.
+     * @param board the board
+     * @param footprint the cells to fill, which must be empty
+     * @return the board afterwards
+     */
+    private long place(long board, long footprint) {
+        board |= footprint;
+
+        var cleared = 0L;
+        var lines = 0;
+        for (var line : lineMasks) {
+            if ((board & line) == line) {
+                cleared |= line;
+                lines++;
+            }
+        }
+
+        //The same formula as Game.increaseScore, with a multiplier of 1
+        placedPoints = lines * Long.bitCount(cleared) * 10;
+        return board & ~cleared;
+    }
+
+    /**
+     * Score a board by its empty cells and how close each line is to being cleared
+     * @param board the board
+     * @return the heuristic value
+     */
+    private int evaluate(long board) {
+        var value = (cells - Long.bitCount(board)) * EMPTY_WEIGHT;
+        for (var line : lineMasks) {
+            var filled = Long.bitCount(board & line);
+            value += filled * filled;
+        }
+        return value;
+    }
+
+    /**
+     * Get the transposition table of this search
+     * @return table
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+}
@@ -0,0 +1,133 @@
+package uk.ac.soton.comp1206.search;
+
+/**
+ * The Transposition Table remembers the results of searching positions, so a position which comes up again is not
+ * searched again.
+ *
+ * A position is a board bitmask together with a pair of piece numbers. The table has a fixed number of slots and each
+ * position can only be held in one of them, so a new result simply replaces whatever was in its slot. Nothing is
+ * created when storing or looking up a result.
+ */
+public class TranspositionTable {
+
+    /**
+     * Returned by find when the position is not in the table
+     */
+    public static final int MISSING = -1;
+
+    private final int mask;
+    private final long[] boards;
+    private final int[] pieces;
+    private final int[] moves;
+    private final int[] values;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Create a new table
+     * @param slots the number of slots, rounded up to a power of two
+     */
+    public TranspositionTable(int slots) {
+        var size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        mask = size - 1;
+        boards = new long[size];
+        pieces = new int[size];
+        moves = new int[size];
+        values = new int[size];
+    }
+
+    /**
+     * Look up a position
+     * @param board the board bitmask
+     * @param first the first piece number
+     * @param second the second piece number, or -1 if there is none
+     * @return the slot holding the position, or MISSING
+     */
+    public int find(long board, int first, int second) {
+        var key = key(first, second);
+        var slot = slot(board, key);
+        if (pieces[slot] == key && boards[slot] == board) {
+            hits++;
+            return slot;
+        }
+        misses++;
+        return MISSING;
+    }
+
+    /**
+     * Remember the result of searching a position
+     * @param board the board bitmask
+     * @param first the first piece number
+     * @param second the second piece number, or -1 if there is none
+     * @param move the best move found
+     * @param value the value of the best move
+     */
+    public void store(long board, int first, int second, int move, int value) {
+        var key = key(first, second);
+        var slot = slot(board, key);
+        boards[slot] = board;
+        pieces[slot] = key;
+        moves[slot] = move;
+        values[slot] = value;
+    }
+
+    /**
+     * Get the best move stored in a slot
+     * @param slot the slot returned by find
+     * @return the move
+     */
+    public int getMove(int slot) {
+        return moves[slot];
+    }
+
+    /**
+     * Get the value stored in a slot
+     * @param slot the slot returned by find
+     * @return the value
+     */
+    public int getValue(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Get the number of lookups which found their position
+     * @return hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get the number of lookups which did not find their position
+     * @return misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Forget every position
+     */
+    public void clear() {
+        for (var slot = 0; slot <= mask; slot++) {
+            pieces[slot] = 0;
+        }
+    }
+
+    /**
+     * Pack a pair of piece numbers into a key which is never 0, so empty slots never match
+     */
+    private static int key(int first, int second) {
+        return ((first + 1) << 8) | (second + 1);
+    }
+
+    /**
+     * Work out the slot of a position
+     */
+    private int slot(long board, int key) {
+        var hash = (board ^ (key * 0x9e3779b97f4a7c15L)) * 0xbf58476d1ce4e5b9L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+}
@@ -0,0 +1,142 @@
+package uk.ac.soton.comp1206.simulation;
+
+/**
+ * A Distribution collects a large number of non-negative values, such as the final score of every simulated game, in a
+ * fixed amount of memory.
+ *
+ * Values below 16 are counted exactly. Larger values are counted in buckets which split every power of two into 8, so
+ * percentiles are accurate to within 12.5%. The count, minimum, maximum and mean are exact. Distributions collected on
+ * different threads can be merged.
+ */
+public class Distribution {
+
+    /**
+     * Enough buckets for any non-negative long
+     */
+    private static final int BUCKETS = 16 + (Long.SIZE - 5) * 8;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * Add a value
+     * @param value the value, which must not be negative
+     */
+    public void add(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        buckets[bucket(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add every value of another distribution to this one
+     * @param other the distribution to merge
+     */
+    public void merge(Distribution other) {
+        for (var i = 0; i < BUCKETS; i++) {
+            buckets[i] += other.buckets[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Get the value below which the given fraction of values lie
+     * @param fraction from 0 to 1, for example 0.99 for the 99th percentile
+     * @return the lower bound of the bucket holding that value, or 0 if there are no values
+     */
+    public long getPercentile(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        var target = Math.max(1, (long) Math.ceil(fraction * count));
+        var seen = 0L;
+        for (var i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= target) {
+                return Math.max(min, Math.min(max, lowerBound(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Get the number of values added
+     * @return count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the mean of the values
+     * @return mean, or 0 if there are no values
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Get the smallest value
+     * @return minimum, or 0 if there are no values
+     */
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Get the largest value
+     * @return maximum, or 0 if there are no values
+     */
+    public long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * Work out the bucket holding a value
+     * @param value the value
+     * @return bucket index
+     */
+    private static int bucket(long value) {
+        if (value < 16) {
+            return (int) value;
+        }
+        var highest = 63 - Long.numberOfLeadingZeros(value);
+        var sub = (int) ((value >>> (highest - 3)) & 7);
+        return 16 + (highest - 4) * 8 + sub;
+    }
+
+    /**
+     * Work out the smallest value held in a bucket
+     * @param bucket bucket index
+     * @return smallest value
+     */
+    private static long lowerBound(int bucket) {
+        if (bucket < 16) {
+            return bucket;
+        }
+        var highest = (bucket - 16) / 8 + 4;
+        var sub = (bucket - 16) % 8;
+        return (8L + sub) << (highest - 3);
+    }
+
+    /**
+     * Return the string representation of this distribution
+     * @return summary of the values
+     */
+    public String toString() {
+        return String.format("mean %.1f, min %d, p50 %d, p90 %d, p99 %d, max %d",
+                getMean(), getMin(), getPercentile(0.5), getPercentile(0.9), getPercentile(0.99), getMax());
+    }
+
+}
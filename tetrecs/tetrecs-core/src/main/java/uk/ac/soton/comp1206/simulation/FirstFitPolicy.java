@@ -0,0 +1,33 @@
+package uk.ac.soton.comp1206.simulation;
+
+import uk.ac.soton.comp1206.game.Game;
+
+/**
+ * The First Fit Policy plays the current piece, unrotated, at the first block it fits, reading left to right and top
+ * to bottom. When the current piece does not fit anywhere it tries the other rotations and then the following piece.
+ *
+ * It makes no attempt to play well, which makes it a cheap baseline.
+ */
+public class FirstFitPolicy implements PlacementPolicy {
+
+    @Override
+    public boolean chooseMove(Game game, Move move) {
+        var grid = game.getGrid();
+        for (var swap = 0; swap < 2; swap++) {
+            var piece = swap == 0 ? game.getCurrentPiece() : game.getFollowingPiece();
+            for (var rotation = 0; rotation < 4; rotation++) {
+                var rotated = piece.rotate(rotation);
+                for (var y = 0; y < grid.getRows(); y++) {
+                    for (var x = 0; x < grid.getCols(); x++) {
+                        if (grid.canPlayPiece(rotated, x, y)) {
+                            move.set(swap == 1, rotation, x, y);
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,35 @@
+package uk.ac.soton.comp1206.simulation;
+
+import uk.ac.soton.comp1206.game.Game;
+
+/**
+ * A Game Over Condition decides when a simulated game should stop. A game also stops when its policy finds nowhere left
+ * to play.
+ */
+public interface GameOverCondition {
+
+    /**
+     * Check whether the game is over
+     * @param game the game being played
+     * @param moves the number of pieces played so far
+     * @return true to stop the game
+     */
+    public boolean isOver(Game game, int moves);
+
+    /**
+     * Only stop when there is nowhere left to play
+     * @return the condition
+     */
+    static GameOverCondition noMovesLeft() {
+        return (game, moves) -> false;
+    }
+
+    /**
+     * Stop after the given number of pieces have been played
+     * @param maxMoves the number of pieces
+     * @return the condition
+     */
+    static GameOverCondition moveLimit(int maxMoves) {
+        return (game, moves) -> moves >= maxMoves;
+    }
+}
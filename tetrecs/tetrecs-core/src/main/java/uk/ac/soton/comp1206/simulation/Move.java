@@ -0,0 +1,78 @@
+package uk.ac.soton.comp1206.simulation;
+
+/**
+ * A Move describes how a player plays their next piece: whether to swap the current and following pieces first, how
+ * many times to rotate the piece, and which block to centre it on.
+ *
+ * Moves are mutable so that a single Move can be filled in again and again without creating anything new.
+ */
+public class Move {
+
+    private boolean swap;
+    private int rotation;
+    private int x;
+    private int y;
+
+    /**
+     * Set every part of this move
+     * @param swap whether to swap the current and following pieces before playing
+     * @param rotation number of times to rotate the piece before playing, from 0 to 3
+     * @param x column to centre the piece on
+     * @param y row to centre the piece on
+     */
+    public void set(boolean swap, int rotation, int x, int y) {
+        this.swap = swap;
+        this.rotation = rotation;
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Copy another move into this one
+     * @param move the move to copy
+     */
+    public void set(Move move) {
+        set(move.swap, move.rotation, move.x, move.y);
+    }
+
+    /**
+     * Whether to swap the current and following pieces before playing
+     * @return true to swap
+     */
+    public boolean isSwap() {
+        return swap;
+    }
+
+    /**
+     * Get the number of times to rotate the piece before playing
+     * @return rotations, from 0 to 3
+     */
+    public int getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Get the column to centre the piece on
+     * @return column
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Get the row to centre the piece on
+     * @return row
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Return the string representation of this move
+     * @return the move
+     */
+    public String toString() {
+        return (swap ? "swap, " : "") + "rotate " + rotation + ", play at " + x + "," + y;
+    }
+
+}
@@ -0,0 +1,19 @@
+package uk.ac.soton.comp1206.simulation;
+
+import uk.ac.soton.comp1206.game.Game;
+
+/**
+ * A Placement Policy plays a game in place of a person, choosing where the next piece goes.
+ *
+ * Policies may keep state between moves, so each thread playing games needs its own policy.
+ */
+public interface PlacementPolicy {
+
+    /**
+     * Choose the next move of a game
+     * @param game the game being played
+     * @param move filled in with the chosen move
+     * @return true if a move was chosen, false if there is nowhere left to play
+     */
+    public boolean chooseMove(Game game, Move move);
+}
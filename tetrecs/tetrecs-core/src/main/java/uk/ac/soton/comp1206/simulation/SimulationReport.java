@@ -0,0 +1,138 @@
+package uk.ac.soton.comp1206.simulation;
+
+/**
+ * The Simulation Report holds the results of a run of the Simulator: how many games and moves were played, how fast,
+ * and the distributions of the final score, final level and highest multiplier of every game.
+ */
+public class SimulationReport {
+
+    private long games;
+    private long moves;
+    private long elapsedNanos;
+
+    private final Distribution scores = new Distribution();
+    private final Distribution levels = new Distribution();
+    private final Distribution multipliers = new Distribution();
+    private final Distribution gameLengths = new Distribution();
+
+    /**
+     * Record the end of a game
+     * @param moves number of pieces played
+     * @param score final score
+     * @param level final level
+     * @param multiplier highest multiplier reached
+     */
+    void addGame(int moves, int score, int level, int multiplier) {
+        this.games++;
+        this.moves += moves;
+        scores.add(score);
+        levels.add(level);
+        multipliers.add(multiplier);
+        gameLengths.add(moves);
+    }
+
+    /**
+     * Add the games of another report to this one
+     * @param other the report to merge
+     */
+    void merge(SimulationReport other) {
+        games += other.games;
+        moves += other.moves;
+        scores.merge(other.scores);
+        levels.merge(other.levels);
+        multipliers.merge(other.multipliers);
+        gameLengths.merge(other.gameLengths);
+    }
+
+    /**
+     * Set how long the whole run took
+     * @param elapsedNanos wall clock time in nanoseconds
+     */
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get the number of games played
+     * @return games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Get the number of pieces played across every game
+     * @return moves
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Get how long the whole run took
+     * @return wall clock time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Get the number of games finished per second
+     * @return games per second
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Get the number of pieces played per second
+     * @return moves per second
+     */
+    public double getMovesPerSecond() {
+        return elapsedNanos == 0 ? 0 : moves * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Get the final score of every game
+     * @return score distribution
+     */
+    public Distribution getScores() {
+        return scores;
+    }
+
+    /**
+     * Get the final level of every game
+     * @return level distribution
+     */
+    public Distribution getLevels() {
+        return levels;
+    }
+
+    /**
+     * Get the highest multiplier reached in every game
+     * @return multiplier distribution
+     */
+    public Distribution getMultipliers() {
+        return multipliers;
+    }
+
+    /**
+     * Get the number of pieces played in every game
+     * @return game length distribution
+     */
+    public Distribution getGameLengths() {
+        return gameLengths;
+    }
+
+    /**
+     * Return the string representation of this report
+     * @return the report, one statistic per line
+     */
+    public String toString() {
+        return String.format("%d games, %d moves in %.2fs (%.0f games/s, %.0f moves/s)%n"
+                        + "score:      %s%nlevel:      %s%nmultiplier: %s%nmoves:      %s",
+                games, moves, elapsedNanos / 1e9, getGamesPerSecond(), getMovesPerSecond(),
+                scores, levels, multipliers, gameLengths);
+    }
+
+}
@@ -0,0 +1,190 @@
+package uk.ac.soton.comp1206.simulation;
+
+import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.game.PieceSource;
+import uk.ac.soton.comp1206.game.PieceStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * The Simulator plays a large number of independent games headlessly, spread over every core, to help tune scoring
+ * and difficulty.
+ *
+ * Every game is dealt pieces from its own PieceSource, seeded from the run seed and the number of the game, so a run
+ * always plays the same games whatever the number of threads. Each game is played by a PlacementPolicy until the
+ * policy finds nowhere left to play or the GameOverCondition says it is over.
+ */
+public class Simulator {
+
+    /**
+     * The number of columns of every game
+     */
+    private final int cols;
+
+    /**
+     * The number of rows of every game
+     */
+    private final int rows;
+
+    /**
+     * Creates a policy for each thread
+     */
+    private final Supplier<PlacementPolicy> policies;
+
+    /**
+     * Decides when each game is over
+     */
+    private final GameOverCondition gameOverCondition;
+
+    /**
+     * Decides which piece comes next, copied for every game
+     */
+    private PieceStrategy strategy = PieceStrategy.uniform();
+
+    /**
+     * The pool the games are played on
+     */
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Create a new Simulator
+     * @param cols number of columns of every game
+     * @param rows number of rows of every game
+     * @param policies creates a policy for each thread, as policies may keep state
+     * @param gameOverCondition decides when each game is over
+     */
+    public Simulator(int cols, int rows, Supplier<PlacementPolicy> policies, GameOverCondition gameOverCondition) {
+        this.cols = cols;
+        this.rows = rows;
+        this.policies = policies;
+        this.gameOverCondition = gameOverCondition;
+    }
+
+    /**
+     * Set the strategy deciding which piece comes next. Defaults to uniform.
+     * @param strategy the strategy, copied for every game
+     */
+    public void setStrategy(PieceStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Set the pool the games are played on. Defaults to the common pool, which uses every core.
+     * @param pool the pool
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Play the given number of games
+     * @param games the number of games
+     * @param seed the seed the games are dealt from
+     * @return the results
+     */
+    public SimulationReport run(int games, long seed) {
+        //Split the games into enough batches to keep every thread busy
+        var batch = Math.max(1, games / (pool.getParallelism() * 16));
+
+        var start = System.nanoTime();
+        var report = pool.invoke(new Batch(seed, 0, games, batch));
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    /**
+     * Play a single game to the end
+     * @param policy the policy playing the game
+     * @param move the move to fill in, reused between moves
+     * @param gameSeed the seed of the game
+     * @param report the report to add the game to
+     */
+    private void play(PlacementPolicy policy, Move move, long gameSeed, SimulationReport report) {
+        var game = new Game(cols, rows, new PieceSource(gameSeed, strategy.copy()));
+        var moves = 0;
+        var multiplier = game.getMultiplier();
+
+        while (!gameOverCondition.isOver(game, moves) && policy.chooseMove(game, move)) {
+            if (move.isSwap()) {
+                game.swapCurrentPiece();
+            }
+            game.rotateCurrentPiece(move.getRotation());
+            if (!game.blockClicked(move.getX(), move.getY())) {
+                throw new IllegalStateException("Policy chose a move which cannot be played: " + move);
+            }
+            moves++;
+            multiplier = Math.max(multiplier, game.getMultiplier());
+        }
+
+        report.addGame(moves, game.getScore(), game.getLevel(), multiplier);
+    }
+
+    /**
+     * Work out the seed of a game from the run seed and the number of the game, so it does not depend on which thread
+     * plays it
+     * @param seed the run seed
+     * @param game the number of the game
+     * @return the game seed
+     */
+    static long gameSeed(long seed, long game) {
+        //The finaliser of SplittableRandom (Stafford variant 13) spreads consecutive numbers over every bit
+        var z = seed + (game + 1) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * A batch of games, split in two until it is small enough to play on one thread
+     */
+    private class Batch extends RecursiveTask<SimulationReport> {
+
+        private final long seed;
+        private final int from;
+        private final int to;
+        private final int batch;
+
+        Batch(long seed, int from, int to, int batch) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.batch = batch;
+        }
+
+        @Override
+        protected SimulationReport compute() {
+            if (to - from <= batch) {
+                var report = new SimulationReport();
+                var policy = policies.get();
+                var move = new Move();
+                for (var game = from; game < to; game++) {
+                    play(policy, move, gameSeed(seed, game), report);
+                }
+                return report;
+            }
+
+            var middle = (from + to) >>> 1;
+            var left = new Batch(seed, from, middle, batch);
+            left.fork();
+            var report = new Batch(seed, middle, to, batch).compute();
+            report.merge(left.join());
+            return report;
+        }
+    }
+
+    /**
+     * Run a simulation from the command line
+     * @param args number of games, board size and seed, all optional
+     */
+    public static void main(String[] args) {
+        var games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        var size = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        var seed = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+
+        var simulator = new Simulator(size, size, FirstFitPolicy::new, GameOverCondition.moveLimit(1000));
+        System.out.println(simulator.run(games, seed));
+    }
+
+}
@@ -3,6 +3,7 @@ module uk.ac.soton.comp1206 {
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.media;
+    requires transitive uk.ac.soton.comp1206.core;
     requires org.apache.logging.log4j;
     requires nv.websocket.client;
     requires java.datatransfer;
@@ -14,5 +15,4 @@ module uk.ac.soton.comp1206 {
     exports uk.ac.soton.comp1206.scene;
     exports uk.ac.soton.comp1206.event;
     exports uk.ac.soton.comp1206.component;
-    exports uk.ac.soton.comp1206.game;
 }
\ No newline at end of file
@@ -6,6 +6,8 @@ import javafx.stage.Stage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import uk.ac.soton.comp1206.multimedia.AssetManager;
+import uk.ac.soton.comp1206.multimedia.Multimedia;
 import uk.ac.soton.comp1206.ui.GameWindow;
 
 /**
@@ -67,6 +69,8 @@ public class App extends Application {
      */
     public void shutdown() {
         logger.info("Shutting down");
+        Multimedia.shutdown();
+        AssetManager.getInstance().shutdown();
         System.exit(0);
     }
 
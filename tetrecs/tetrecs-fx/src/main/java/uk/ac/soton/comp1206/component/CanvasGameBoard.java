@@ -0,0 +1,187 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.input.MouseEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.game.Grid;
+
+/**
+ * A CanvasGameBoard is a GameBoard which draws the whole grid onto a single Canvas, rather than holding a GameBlock
+ * node for every cell. The scene graph holds one node however large the board is, which keeps large boards, or
+ * several boards on one screen, running smoothly.
+ *
+ * The board listens to the grid directly and marks the cells each update touches as dirty. Dirty cells are repainted
+ * together once per pulse, skipping any which still hold the value they were last painted with. Clicks are mapped to a
+ * cell arithmetically. Listeners are still called with a GameBlock, but there is only one, never added to the scene
+ * and moved to whichever cell was clicked, so the board holds no node or property per cell.
+ */
+public class CanvasGameBoard extends GameBoard {
+
+    private static final Logger logger = LogManager.getLogger(CanvasGameBoard.class);
+
+    //These fields are set in build, which runs inside the GameBoard constructor, so must not have initialisers
+
+    /**
+     * The canvas the whole grid is drawn on
+     */
+    private Canvas canvas;
+
+    /**
+     * Size of a single cell on the canvas
+     */
+    private double cellWidth;
+    private double cellHeight;
+
+    /**
+     * The block handed to listeners, moved to whichever cell they are told about
+     */
+    private GameBlock handle;
+
+    /**
+     * The value each cell was last painted with, indexed by cell
+     */
+    private int[] painted;
+
+    /**
+     * The cells waiting to be repainted on the next pulse, only the first dirtyCount entries are in use
+     */
+    private int[] dirtyCells;
+    private int dirtyCount;
+
+    /**
+     * Whether each cell is waiting in dirtyCells
+     */
+    private boolean[] dirty;
+
+    /**
+     * Create a new CanvasGameBoard, based off a given grid, with a visual width and height.
+     * @param grid linked grid
+     * @param width the visual width
+     * @param height the visual height
+     */
+    public CanvasGameBoard(Grid grid, double width, double height) {
+        super(grid, width, height);
+    }
+
+    /**
+     * Create a new CanvasGameBoard with it's own internal grid, specifying the number of columns and rows, along with
+     * the visual width and height.
+     * @param cols number of columns for internal grid
+     * @param rows number of rows for internal grid
+     * @param width the visual width
+     * @param height the visual height
+     */
+    public CanvasGameBoard(int cols, int rows, double width, double height) {
+        super(cols, rows, width, height);
+    }
+
+    /**
+     * Build the board as a single canvas and paint every cell
+     */
+    @Override
+    protected void build() {
+        logger.info("Building canvas grid: {} x {}", cols, rows);
+
+        setMaxWidth(width);
+        setMaxHeight(height);
+
+        cellWidth = width / cols;
+        cellHeight = height / rows;
+        painted = new int[cols * rows];
+        dirtyCells = new int[cols * rows];
+        dirty = new boolean[cols * rows];
+        handle = new GameBlock(this, 0, 0, cellWidth, cellHeight);
+
+        canvas = new Canvas(width, height);
+        add(canvas, 0, 0);
+
+        //Hit test clicks against the cell size instead of giving every cell its own node
+        canvas.setOnMouseClicked(this::canvasClicked);
+
+        grid.addListener(this::cellsChanged);
+        for (var y = 0; y < rows; y++) {
+            for (var x = 0; x < cols; x++) {
+                paintCell(x, y);
+            }
+        }
+    }
+
+    /**
+     * Get a block standing for a specific cell. The same block is returned by every call, moved to the cell asked for
+     * and holding its value at the time, so it should not be kept.
+     * @param x column
+     * @param y row
+     * @return game block at the given column and row
+     */
+    @Override
+    public GameBlock getBlock(int x, int y) {
+        handle.moveTo(x, y, grid.get(x, y));
+        return handle;
+    }
+
+    /**
+     * The block handed out is never shown, so is never repainted
+     * @param block the block which changed
+     */
+    @Override
+    void blockChanged(GameBlock block) {
+    }
+
+    /**
+     * Mark the cells changed by an update to the grid, to be repainted on the next pulse
+     * @param grid the grid which changed
+     * @param cells the index of each cell changed
+     * @param count the number of cells changed
+     */
+    private void cellsChanged(Grid grid, int[] cells, int count) {
+        for (var i = 0; i < count; i++) {
+            var cell = cells[i];
+            if (!dirty[cell]) {
+                dirty[cell] = true;
+                dirtyCells[dirtyCount++] = cell;
+            }
+        }
+        scheduleRepaint();
+    }
+
+    /**
+     * Repaint every dirty cell whose value has changed since it was last painted
+     */
+    @Override
+    void flushRepaints() {
+        for (var i = 0; i < dirtyCount; i++) {
+            var cell = dirtyCells[i];
+            dirty[cell] = false;
+            if (grid.get(cell % cols, cell / cols) != painted[cell]) {
+                paintCell(cell % cols, cell / cols);
+            }
+        }
+        dirtyCount = 0;
+    }
+
+    /**
+     * Paint a single cell with the same tile as a GameBlock
+     * @param x column
+     * @param y row
+     */
+    private void paintCell(int x, int y) {
+        var value = grid.get(x, y);
+        painted[y * cols + x] = value;
+        getTileCache().draw(canvas.getGraphicsContext2D(), value, x * cellWidth, y * cellHeight, cellWidth, cellHeight);
+    }
+
+    /**
+     * Work out which cell was clicked and pass its block on as if it had been clicked itself
+     * @param event mouse event
+     */
+    private void canvasClicked(MouseEvent event) {
+        var x = (int) (event.getX() / cellWidth);
+        var y = (int) (event.getY() / cellHeight);
+        if (x < 0 || x >= cols || y < 0 || y >= rows) {
+            return;
+        }
+        blockClicked(event, getBlock(x, y));
+    }
+
+}
@@ -4,7 +4,7 @@ import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.paint.*;
+import javafx.scene.paint.Color;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -13,9 +13,14 @@ import org.apache.logging.log4j.Logger;
  *
  * Extends Canvas and is responsible for drawing itself.
  *
- * Displays an empty square (when the value is 0) or a coloured square depending on value.
+ * Displays an empty square (when the value is 0) or a coloured square depending on value. The squares are drawn once
+ * into the TileCache of the board, and copied from there.
  *
  * The GameBlock value should be bound to a corresponding block in the Grid model.
+ *
+ * A change of value does not repaint the block straight away. The block asks its GameBoard to repaint it on the next
+ * pulse, so however many times the value changes within a frame it is painted at most once, and not at all if it ends
+ * the frame with the value it was last painted with.
  */
 public class GameBlock extends Canvas {
 
@@ -51,18 +56,28 @@ public class GameBlock extends Canvas {
     /**
      * The column this block exists as in the grid
      */
-    private final int x;
+    private int x;
 
     /**
      * The row this block exists as in the grid
      */
-    private final int y;
+    private int y;
 
     /**
      * The value of this block (0 = empty, otherwise specifies the colour to render as)
      */
     private final IntegerProperty value = new SimpleIntegerProperty(0);
 
+    /**
+     * The value this block was last painted with
+     */
+    private int paintedValue;
+
+    /**
+     * Whether this block is waiting to be repainted by its board
+     */
+    boolean dirty;
+
     /**
      * Create a new single Game Block
      * @param gameBoard the board this block belongs to
@@ -90,63 +105,31 @@ public class GameBlock extends Canvas {
     }
 
     /**
-     * When the value of this block is updated,
+     * When the value of this block is updated, ask the board to repaint it on the next pulse
      * @param observable what was updated
      * @param oldValue the old value
      * @param newValue the new value
      */
     private void updateValue(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
-        paint();
+        gameBoard.blockChanged(this);
     }
 
     /**
-     * Handle painting of the block canvas
+     * Repaint the block if its value has changed since it was last painted. Called by the board once per pulse.
      */
-    public void paint() {
-        //If the block is empty, paint as empty
-        if(value.get() == 0) {
-            paintEmpty();
-        } else {
-            //If the block is not empty, paint with the colour represented by the value
-            paintColor(COLOURS[value.get()]);
+    void repaint() {
+        dirty = false;
+        if (value.get() != paintedValue) {
+            paint();
         }
     }
 
     /**
-     * Paint this canvas empty
-     */
-    private void paintEmpty() {
-        var gc = getGraphicsContext2D();
-
-        //Clear
-        gc.clearRect(0,0,width,height);
-
-        //Fill
-        gc.setFill(Color.WHITE);
-        gc.fillRect(0,0, width, height);
-
-        //Border
-        gc.setStroke(Color.BLACK);
-        gc.strokeRect(0,0,width,height);
-    }
-
-    /**
-     * Paint this canvas with the given colour
-     * @param colour the colour to paint
+     * Handle painting of the block canvas, by drawing the board's pre-rendered tile for its value
      */
-    private void paintColor(Paint colour) {
-        var gc = getGraphicsContext2D();
-
-        //Clear
-        gc.clearRect(0,0,width,height);
-
-        //Colour fill
-        gc.setFill(colour);
-        gc.fillRect(0,0, width, height);
-
-        //Border
-        gc.setStroke(Color.BLACK);
-        gc.strokeRect(0,0,width,height);
+    public void paint() {
+        paintedValue = value.get();
+        gameBoard.getTileCache().draw(getGraphicsContext2D(), paintedValue, 0, 0, width, height);
     }
 
     /**
@@ -165,6 +148,19 @@ public class GameBlock extends Canvas {
         return y;
     }
 
+    /**
+     * Point this unbound block at another cell, taking on the cell's value. Used by boards which hand listeners a
+     * single block standing for whichever cell was clicked.
+     * @param x column
+     * @param y row
+     * @param value the value of the cell
+     */
+    void moveTo(int x, int y, int value) {
+        this.x = x;
+        this.y = y;
+        this.value.set(value);
+    }
+
     /**
      * Get the current value held by this block, representing it's colour
      * @return value
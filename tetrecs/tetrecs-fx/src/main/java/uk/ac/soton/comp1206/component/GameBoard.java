@@ -1,5 +1,6 @@
 package uk.ac.soton.comp1206.component;
 
+import javafx.animation.AnimationTimer;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
@@ -12,6 +13,9 @@ import uk.ac.soton.comp1206.game.GamePiece;
 import uk.ac.soton.comp1206.game.Grid;
 import uk.ac.soton.comp1206.multimedia.Multimedia;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A GameBoard is a visual component to represent the visual GameBoard.
  * It extends a GridPane to hold a grid of GameBlocks.
@@ -21,6 +25,9 @@ import uk.ac.soton.comp1206.multimedia.Multimedia;
  *
  * The GameBoard is only a visual representation and should not contain game logic or model logic in it, which should
  * take place in the Grid.
+ *
+ * Blocks are not repainted as soon as their value changes. The board collects the changed blocks and repaints them
+ * together on the next JavaFX pulse, using an AnimationTimer which only runs while there is something to repaint.
  */
 public class GameBoard extends GridPane {
 
@@ -29,28 +36,33 @@ public class GameBoard extends GridPane {
     /**
      * Number of columns in the board
      */
-    private final int cols;
+    final int cols;
 
     /**
      * Number of rows in the board
      */
-    private final int rows;
+    final int rows;
 
     /**
      * The visual width of the board - has to be specified due to being a Canvas
      */
-    private final double width;
+    final double width;
 
     /**
      * The visual height of the board - has to be specified due to being a Canvas
      */
-    private final double height;
+    final double height;
 
     /**
      * The grid this GameBoard represents
      */
     final Grid grid;
 
+    /**
+     * The JavaFX properties of the grid this GameBoard binds to
+     */
+    GridPropertyView gridView;
+
     /**
      * The blocks inside the grid
      */
@@ -63,6 +75,33 @@ public class GameBoard extends GridPane {
 
     private RightClickedListener rightClickedListener;
 
+    /**
+     * The pre-rendered tiles blocks are painted with
+     */
+    private final TileCache tileCache = new TileCache();
+
+    /**
+     * The blocks waiting to be repainted on the next pulse
+     */
+    private final List<GameBlock> dirtyBlocks = new ArrayList<>();
+
+    /**
+     * Whether the repaint timer is running
+     */
+    private boolean repaintScheduled;
+
+    /**
+     * Repaints everything waiting on the next pulse, then stops until something else changes
+     */
+    private final AnimationTimer repaintTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            stop();
+            repaintScheduled = false;
+            flushRepaints();
+        }
+    };
+
     /**
      * Create a new GameBoard, based off a given grid, with a visual width and height.
      * @param grid linked grid
@@ -122,6 +161,9 @@ public class GameBoard extends GridPane {
         setGridLinesVisible(true);
 
         blocks = new GameBlock[cols][rows];
+        if (gridView == null) {
+            gridView = new GridPropertyView(grid);
+        }
 
         for(var y = 0; y < rows; y++) {
             for (var x = 0; x < cols; x++) {
@@ -149,7 +191,7 @@ public class GameBoard extends GridPane {
         blocks[x][y] = block;
 
         //Link the GameBlock component to the corresponding value in the Grid
-        block.bind(grid.getGridProperty(x,y));
+        block.bind(gridView.getGridProperty(x,y));
 
         //Add a mouse click handler to the block to trigger GameBoard blockClicked method
         block.setOnMouseClicked((e) -> blockClicked(e, block));
@@ -160,6 +202,46 @@ public class GameBoard extends GridPane {
         return block;
     }
 
+    /**
+     * Get the pre-rendered tiles blocks on this board are painted with
+     * @return tile cache
+     */
+    public TileCache getTileCache() {
+        return tileCache;
+    }
+
+    /**
+     * Called by a block when its value changes, to be repainted on the next pulse
+     * @param block the block which changed
+     */
+    void blockChanged(GameBlock block) {
+        if (!block.dirty) {
+            block.dirty = true;
+            dirtyBlocks.add(block);
+        }
+        scheduleRepaint();
+    }
+
+    /**
+     * Make sure flushRepaints is called on the next pulse
+     */
+    void scheduleRepaint() {
+        if (!repaintScheduled) {
+            repaintScheduled = true;
+            repaintTimer.start();
+        }
+    }
+
+    /**
+     * Repaint everything which has changed since the last pulse
+     */
+    void flushRepaints() {
+        for (var i = 0; i < dirtyBlocks.size(); i++) {
+            dirtyBlocks.get(i).repaint();
+        }
+        dirtyBlocks.clear();
+    }
+
     /**
      * Set the listener to handle an event when a block is clicked
      * @param listener listener to add
@@ -173,14 +255,13 @@ public class GameBoard extends GridPane {
      * @param event mouse event
      * @param block block clicked on
      */
-    private void blockClicked(MouseEvent event, GameBlock block) {
+    void blockClicked(MouseEvent event, GameBlock block) {
         logger.info("Block clicked: {}", block);
 
         if(blockClickedListener != null) {
             blockClickedListener.blockClicked(block);
             Multimedia.playAudioFile("sounds/place.wav");
         }
-        Multimedia.playAudioFile("sounds/place.wav");
     }
 
     /*
@@ -0,0 +1,91 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import uk.ac.soton.comp1206.game.Grid;
+import uk.ac.soton.comp1206.game.event.GridListener;
+
+/**
+ * The GridPropertyView adapts a Grid from the game model into JavaFX properties, so that the visual components can
+ * bind to the value of each cell.
+ *
+ * An IntegerProperty is only created for a cell when getGridProperty is called. Once created it follows the grid, and
+ * setting it updates the grid.
+ */
+public class GridPropertyView implements GridListener {
+
+    /**
+     * The grid being viewed
+     */
+    private final Grid grid;
+
+    /**
+     * The properties handed out for binding, indexed by column and row. Null until requested.
+     */
+    private final IntegerProperty[][] properties;
+
+    /**
+     * Create a new property view of the given grid
+     * @param grid the grid to view
+     */
+    public GridPropertyView(Grid grid) {
+        this.grid = grid;
+        this.properties = new IntegerProperty[grid.getCols()][grid.getRows()];
+
+        grid.addListener(this);
+    }
+
+    /**
+     * Get the Integer property for the given row and column of the grid. Can be used for binding.
+     * @param x column
+     * @param y row
+     * @return the IntegerProperty at the given x and y in the grid
+     */
+    public IntegerProperty getGridProperty(int x, int y) {
+        var property = properties[x][y];
+        if (property == null) {
+            property = new SimpleIntegerProperty(grid.get(x, y));
+
+            //Writes made through the property are stored back into the grid
+            property.addListener((observable, oldValue, newValue) -> grid.set(x, y, newValue.intValue()));
+            properties[x][y] = property;
+        }
+        return property;
+    }
+
+    /**
+     * Keep any property which has been handed out in step with the grid. Each property changes at most once per update
+     * to the grid, so a block bound to it repaints once per move however many times its cell was touched.
+     * @param grid the grid which changed
+     * @param cells the index of each cell changed
+     * @param count the number of cells changed
+     */
+    @Override
+    public void cellsChanged(Grid grid, int[] cells, int count) {
+        var cols = grid.getCols();
+        for (var i = 0; i < count; i++) {
+            var x = cells[i] % cols;
+            var y = cells[i] / cols;
+            var property = properties[x][y];
+            if (property != null) {
+                property.set(grid.get(x, y));
+            }
+        }
+    }
+
+    /**
+     * Stop following the grid
+     */
+    public void detach() {
+        grid.removeListener(this);
+    }
+
+    /**
+     * Get the grid being viewed
+     * @return grid
+     */
+    public Grid getGrid() {
+        return grid;
+    }
+
+}
@@ -0,0 +1,111 @@
+package uk.ac.soton.comp1206.component;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The TileCache holds a pre-rendered tile for every block value, so painting a block is a single image copy however
+ * elaborate the tiles are drawn.
+ *
+ * Every tile is rendered once into a single atlas image, one tile wide per value. The atlas is rendered for one tile
+ * size at a time, and rendered again when asked to draw tiles of a different size or when invalidated.
+ *
+ * Must only be used on the JavaFX thread.
+ */
+public class TileCache {
+
+    private static final Logger logger = LogManager.getLogger(TileCache.class);
+
+    /**
+     * Every tile, side by side in order of value. Null until first drawn.
+     */
+    private WritableImage atlas;
+
+    /**
+     * The size tiles were rendered for
+     */
+    private double tileWidth;
+    private double tileHeight;
+
+    /**
+     * The size of a tile in the atlas, in whole pixels
+     */
+    private int pixelWidth;
+    private int pixelHeight;
+
+    /**
+     * Draw the tile for a block value
+     * @param gc where to draw
+     * @param value the block value
+     * @param x left of the tile
+     * @param y top of the tile
+     * @param width width of the tile
+     * @param height height of the tile
+     */
+    public void draw(GraphicsContext gc, int value, double x, double y, double width, double height) {
+        if (atlas == null || width != tileWidth || height != tileHeight) {
+            render(width, height);
+        }
+        gc.drawImage(atlas, value * pixelWidth, 0, pixelWidth, pixelHeight, x, y, width, height);
+    }
+
+    /**
+     * Throw away the rendered tiles, so they are rendered again the next time one is drawn. Call when the look of the
+     * tiles changes.
+     */
+    public void invalidate() {
+        atlas = null;
+    }
+
+    /**
+     * Render every tile at the given size into a new atlas
+     * @param width width of a tile
+     * @param height height of a tile
+     */
+    private void render(double width, double height) {
+        logger.debug("Rendering tiles at {} x {}", width, height);
+        tileWidth = width;
+        tileHeight = height;
+        pixelWidth = Math.max(1, (int) Math.ceil(width));
+        pixelHeight = Math.max(1, (int) Math.ceil(height));
+
+        var colours = GameBlock.COLOURS.length;
+        var canvas = new Canvas(pixelWidth * colours, pixelHeight);
+        var gc = canvas.getGraphicsContext2D();
+        for (var value = 0; value < colours; value++) {
+            //Keep the border of each tile inside the tile
+            gc.save();
+            gc.beginPath();
+            gc.rect(value * pixelWidth, 0, pixelWidth, pixelHeight);
+            gc.clip();
+            paintTile(gc, value, value * pixelWidth);
+            gc.restore();
+        }
+
+        var parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        atlas = canvas.snapshot(parameters, new WritableImage(pixelWidth * colours, pixelHeight));
+    }
+
+    /**
+     * Paint a single tile: white when empty (value 0), otherwise filled with the colour of the value, with a border
+     * @param gc where to paint
+     * @param value the block value
+     * @param left left of the tile
+     */
+    private void paintTile(GraphicsContext gc, int value, double left) {
+        //Fill
+        gc.setFill(value == 0 ? Color.WHITE : GameBlock.COLOURS[value]);
+        gc.fillRect(left, 0, pixelWidth, pixelHeight);
+
+        //Border
+        gc.setStroke(Color.BLACK);
+        gc.strokeRect(left, 0, pixelWidth, pixelHeight);
+    }
+
+}
@@ -6,7 +6,7 @@ package uk.ac.soton.comp1206.event;
 public interface CommunicationsListener {
 
     /**
-     * Handle an incoming message received by the Communicator
+     * Handle an incoming message received by the Communicator. Called on the JavaFX thread.
      * @param communication the message that was received
      */
     public void receiveCommunication(String communication);
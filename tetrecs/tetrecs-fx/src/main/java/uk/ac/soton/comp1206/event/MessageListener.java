@@ -0,0 +1,16 @@
+package uk.ac.soton.comp1206.event;
+
+import uk.ac.soton.comp1206.network.Message;
+
+/**
+ * The Message Listener is used for handling messages from the server, already parsed, which the Communicator has routed
+ * to it by their command.
+ */
+public interface MessageListener {
+
+    /**
+     * Handle a message received by the Communicator. Called on the JavaFX thread.
+     * @param message the message that was received
+     */
+    public void receiveMessage(Message message);
+}
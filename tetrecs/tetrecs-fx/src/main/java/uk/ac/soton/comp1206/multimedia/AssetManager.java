@@ -0,0 +1,297 @@
+package uk.ac.soton.comp1206.multimedia;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.scene.image.Image;
+import javafx.scene.media.AudioClip;
+import javafx.scene.media.Media;
+import javafx.scene.text.Font;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The AssetManager loads every image, sound, music track and font the game ships with, and holds on to them so that
+ * scenes never decode an asset themselves.
+ *
+ * Loading decodes every asset in the manifest at once, spread over a pool of background threads, and reports how far
+ * it has got through an observable progress property on the JavaFX thread. Only the images a scene shows are in the
+ * manifest, each decoded at the size it is shown at and held in an ImageCache: the backgrounds at the size of the
+ * window and the logo at half its width. An asset asked for before it has been loaded, or which is not in the
+ * manifest, is decoded on the calling thread and cached from then on.
+ *
+ * There is a single AssetManager, shared by the whole game.
+ */
+public class AssetManager {
+
+    private static final Logger logger = LogManager.getLogger(AssetManager.class);
+
+    /**
+     * Every background image a scene shows, filling the window
+     */
+    public static final String[] IMAGES = {
+            "images/1.jpg",
+            "images/6.jpg"
+    };
+
+    /**
+     * The logo shown while loading, at half the width of the window
+     */
+    public static final String LOGO = "images/ECSGames.png";
+
+    /**
+     * Every font shipped with the game
+     */
+    public static final String[] FONTS = {
+            "style/Orbitron-Black.ttf",
+            "style/Orbitron-Bold.ttf",
+            "style/Orbitron-ExtraBold.ttf",
+            "style/Orbitron-Medium.ttf",
+            "style/Orbitron-Regular.ttf",
+            "style/Orbitron-SemiBold.ttf"
+    };
+
+    /**
+     * Size fonts are registered at
+     */
+    private static final int FONT_SIZE = 32;
+
+    /**
+     * The most memory decoded images may take, in bytes
+     */
+    private static final long IMAGE_BUDGET = 64L * 1024 * 1024;
+
+    private static AssetManager instance;
+
+    private final ImageCache images = new ImageCache(IMAGE_BUDGET);
+    private final Map<String, AudioClip> clips = new ConcurrentHashMap<>();
+    private final Map<String, Long> clipDurations = new ConcurrentHashMap<>();
+    private final Map<String, Media> media = new ConcurrentHashMap<>();
+
+    /**
+     * The threads assets are decoded on
+     */
+    private final ExecutorService pool;
+
+    /**
+     * The fraction of the manifest loaded, from 0 to 1
+     */
+    private final ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(0);
+
+    /**
+     * Completes when the whole manifest has been loaded, null until load is called
+     */
+    private CompletableFuture<Void> loading;
+
+    /**
+     * Get the AssetManager shared by the game
+     * @return the asset manager
+     */
+    public static synchronized AssetManager getInstance() {
+        if (instance == null) {
+            instance = new AssetManager();
+        }
+        return instance;
+    }
+
+    private AssetManager() {
+        var threads = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            var thread = new Thread(runnable, "asset-loader-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start loading every asset in the manifest in the background. Calling this again returns the same load.
+     * @param width width of the window, which images are decoded to fit
+     * @param height height of the window, which images are decoded to fit
+     * @return completes, on a background thread, once every asset has been loaded or has failed to load
+     */
+    public synchronized CompletableFuture<Void> load(int width, int height) {
+        if (loading != null) {
+            return loading;
+        }
+
+        var tasks = new ArrayList<Runnable>();
+        for (var image : IMAGES) {
+            tasks.add(() -> getImage(image, width, height));
+        }
+        tasks.add(() -> getImage(LOGO, width / 2, 0));
+        for (var sound : SoundEngine.SOUNDS) {
+            tasks.add(() -> {
+                getClip(sound);
+                getClipDuration(sound);
+            });
+        }
+        for (var track : MusicManager.TRACKS) {
+            tasks.add(() -> getMedia(track));
+        }
+        for (var font : FONTS) {
+            tasks.add(() -> loadFont(font));
+        }
+
+        logger.info("Loading {} assets", tasks.size());
+        var started = System.nanoTime();
+        var done = new AtomicInteger();
+        var futures = new CompletableFuture<?>[tasks.size()];
+        for (var i = 0; i < futures.length; i++) {
+            var task = tasks.get(i);
+            futures[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    logger.error("Unable to load asset", e);
+                } finally {
+                    reportProgress((double) done.incrementAndGet() / futures.length);
+                }
+            }, pool);
+        }
+
+        loading = CompletableFuture.allOf(futures).thenRun(() ->
+                logger.info("Loaded assets in {} ms", (System.nanoTime() - started) / 1_000_000));
+        return loading;
+    }
+
+    /**
+     * Move the progress on, on the JavaFX thread. Reports can arrive out of order, so progress only ever goes up.
+     * @param fraction fraction of the manifest loaded
+     */
+    private void reportProgress(double fraction) {
+        Platform.runLater(() -> progress.set(Math.max(progress.get(), fraction)));
+    }
+
+    /**
+     * Get an image at its natural size, decoding it if it is not cached
+     * @param file the image, relative to the resources folder
+     * @return the image, or null if it cannot be loaded
+     */
+    public Image getImage(String file) {
+        return getImage(file, 0, 0);
+    }
+
+    /**
+     * Get an image decoded to fit the size it is shown at, decoding it if it is not cached
+     * @param file the image, relative to the resources folder
+     * @param width width the image is shown at
+     * @param height height the image is shown at, or 0 to scale it to the width
+     * @return the image, or null if it cannot be loaded
+     */
+    public Image getImage(String file, int width, int height) {
+        var url = resource(file);
+        return url == null ? null : images.get(url, width, height);
+    }
+
+    /**
+     * Get a sound effect, decoding it if it has not been loaded
+     * @param file the sound, relative to the resources folder
+     * @return the clip, or null if it cannot be loaded
+     */
+    public AudioClip getClip(String file) {
+        return clips.computeIfAbsent(file, path -> {
+            var url = resource(path);
+            return url == null ? null : new AudioClip(url);
+        });
+    }
+
+    /**
+     * Get how long a sound effect lasts, read from the header of its file. AudioClip does not say how long it is.
+     * @param file the sound, relative to the resources folder
+     * @return duration in milliseconds, or -1 if it cannot be worked out, for example for an mp3
+     */
+    public long getClipDuration(String file) {
+        return clipDurations.computeIfAbsent(file, path -> {
+            var resource = AssetManager.class.getResource("/" + path);
+            if (resource == null) {
+                return -1L;
+            }
+            try {
+                var format = AudioSystem.getAudioFileFormat(resource);
+                var frameRate = format.getFormat().getFrameRate();
+                if (format.getFrameLength() == AudioSystem.NOT_SPECIFIED || frameRate <= 0) {
+                    return -1L;
+                }
+                return (long) Math.ceil(format.getFrameLength() * 1000.0 / frameRate);
+            } catch (UnsupportedAudioFileException | IOException e) {
+                logger.debug("Unable to read the length of {}: {}", path, e.getMessage());
+                return -1L;
+            }
+        });
+    }
+
+    /**
+     * Let go of every decoded sound effect. Any played again are decoded again.
+     */
+    public void releaseClips() {
+        clips.clear();
+        clipDurations.clear();
+    }
+
+    /**
+     * Get a music track, opening it if it has not been loaded
+     * @param file the track, relative to the resources folder
+     * @return the media, or null if it cannot be loaded
+     */
+    public Media getMedia(String file) {
+        return media.computeIfAbsent(file, path -> {
+            var url = resource(path);
+            return url == null ? null : new Media(url);
+        });
+    }
+
+    /**
+     * Register a font so it can be used by name from the stylesheets
+     * @param file the font, relative to the resources folder
+     */
+    private void loadFont(String file) {
+        var url = resource(file);
+        if (url != null && Font.loadFont(url, FONT_SIZE) == null) {
+            logger.error("Unable to load font {}", file);
+        }
+    }
+
+    /**
+     * Find an asset in the resources
+     * @param file the asset, relative to the resources folder
+     * @return its URL, or null if there is no such asset
+     */
+    private String resource(String file) {
+        var resource = AssetManager.class.getResource("/" + file);
+        if (resource == null) {
+            logger.error("No such asset: {}", file);
+            return null;
+        }
+        return resource.toExternalForm();
+    }
+
+    /**
+     * Get the fraction of the manifest loaded, from 0 to 1. Only changes on the JavaFX thread.
+     * @return progress property
+     */
+    public ReadOnlyDoubleProperty progressProperty() {
+        return progress.getReadOnlyProperty();
+    }
+
+    /**
+     * Stop loading and let go of every asset
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+        images.clear();
+        releaseClips();
+        media.clear();
+    }
+
+}
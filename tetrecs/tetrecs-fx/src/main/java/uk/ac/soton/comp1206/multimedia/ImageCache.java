@@ -0,0 +1,145 @@
+package uk.ac.soton.comp1206.multimedia;
+
+import javafx.scene.image.Image;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+
+/**
+ * The ImageCache decodes images at the size they are displayed at, rather than at full resolution, and keeps them so
+ * an image shown again is not decoded again.
+ *
+ * Images are cached by file and size, so the same file shown at two sizes is decoded twice. The decoded pixels of every
+ * cached image count against a memory budget; when it is exceeded the least recently used images are dropped. Images
+ * are also only softly held, so the garbage collector can take them back if memory gets short.
+ *
+ * Safe to use from any thread.
+ */
+public class ImageCache {
+
+    private static final Logger logger = LogManager.getLogger(ImageCache.class);
+
+    /**
+     * Bytes taken by each decoded pixel
+     */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /**
+     * A cached image and the memory it takes
+     */
+    private static class Entry {
+        private final SoftReference<Image> image;
+        private final long bytes;
+
+        Entry(Image image, long bytes) {
+            this.image = new SoftReference<>(image);
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * The most memory cached images may take, in bytes
+     */
+    private final long budget;
+
+    /**
+     * The memory taken by every cached image, in bytes
+     */
+    private long used;
+
+    /**
+     * The cached images, least recently used first
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Create a new image cache
+     * @param budget the most memory cached images may take, in bytes
+     */
+    public ImageCache(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Get an image at the size it is displayed at, decoding it if it is not cached. The image keeps its aspect ratio,
+     * so comes out as large as fits inside the given size.
+     * @param url where the image is
+     * @param width width the image is displayed at, or 0 for its natural size
+     * @param height height the image is displayed at, or 0 for its natural size
+     * @return the image, or null if it cannot be decoded
+     */
+    public Image get(String url, int width, int height) {
+        var key = url + '@' + width + 'x' + height;
+        synchronized (this) {
+            var entry = entries.get(key);
+            if (entry != null) {
+                var image = entry.image.get();
+                if (image != null) {
+                    return image;
+                }
+                remove(key);
+            }
+        }
+
+        //Decode outside the lock, so other images can be decoded at the same time
+        var image = new Image(url, width, height, true, true);
+        if (image.isError()) {
+            logger.error("Unable to decode image {}", url);
+            return null;
+        }
+
+        synchronized (this) {
+            remove(key);
+            var bytes = (long) (image.getWidth() * image.getHeight()) * BYTES_PER_PIXEL;
+            entries.put(key, new Entry(image, bytes));
+            used += bytes;
+            evict();
+        }
+        return image;
+    }
+
+    /**
+     * Drop images which have been collected, then the least recently used images until the cache is within budget.
+     * The most recent image is always kept.
+     */
+    private void evict() {
+        var iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (entry.image.get() == null || (used > budget && entries.size() > 1)) {
+                used -= entry.bytes;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drop a cached image
+     * @param key its key
+     */
+    private void remove(String key) {
+        var entry = entries.remove(key);
+        if (entry != null) {
+            used -= entry.bytes;
+        }
+    }
+
+    /**
+     * Drop every cached image
+     */
+    public synchronized void clear() {
+        entries.clear();
+        used = 0;
+    }
+
+    /**
+     * Get the memory taken by every cached image
+     * @return bytes
+     */
+    public synchronized long getUsed() {
+        return used;
+    }
+
+}
@@ -0,0 +1,87 @@
+package uk.ac.soton.comp1206.multimedia;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The Multimedia class creates a base model of how to play music/audio.
+ * The 2 methods: playAudioFile & playBackgroundMusic deal with most of the logic.
+ *
+ * Sound effects are played by a SoundEngine from clips decoded once, rather than a new MediaPlayer each time. Music is
+ * played by a MusicManager, which keeps a player per track and crossfades between them.
+ */
+public class Multimedia {
+    private static final Logger logger = LogManager.getLogger(Multimedia.class);
+
+    /**
+     * The most sound effects which can play at once
+     */
+    private static final int POLYPHONY = 8;
+
+    private static BooleanProperty audioEnabledProperty = new SimpleBooleanProperty(true);
+    private static final SoundEngine soundEngine = new SoundEngine(POLYPHONY);
+    private static final MusicManager musicManager = new MusicManager();
+
+
+    /**
+     * Get every music track ready up front, so the first play of each one is not delayed. Call once the AssetManager
+     * has loaded.
+     */
+    public static void preloadAudio() {
+        try {
+            musicManager.preload();
+        } catch (Exception e) {
+            //Only the music is affected, so leave the rest of the audio on
+            logger.error("Unable to preload music", e);
+        }
+    }
+
+    /**
+     * Play a sound effect. A sound which cannot be played is skipped, without turning off the rest of the audio.
+     * @param file the sound, relative to the resources folder
+     */
+    public static void playAudioFile(String file) {
+        if (!getAudioEnabled()) return;
+
+        try {
+            soundEngine.play(file);
+        } catch (Exception e) {
+            logger.error("Unable to play " + file, e);
+        }
+    }
+
+    /**
+     * Crossfade to a looping background music track. A missing or broken track is skipped, without turning off
+     * the rest of the audio.
+     * @param file the track, relative to the resources folder
+     */
+    public static void playBackgroundMusic(String file) {
+        if (!getAudioEnabled()) return;
+
+        musicManager.play(file);
+    }
+
+    /**
+     * Stop all sound effects and music, and release the decoded sounds and music players
+     */
+    public static void shutdown() {
+        soundEngine.shutdown();
+        musicManager.shutdown();
+    }
+
+    public static BooleanProperty audioEnabledProperty() {
+        return audioEnabledProperty;
+    }
+
+    public static void setAudioEnabled(boolean enabled) {
+        logger.info("Audio enabled set to: " + enabled);
+        audioEnabledProperty().set(enabled);
+    }
+
+    public static boolean getAudioEnabled() {
+        return audioEnabledProperty().get();
+    }
+
+}
\ No newline at end of file
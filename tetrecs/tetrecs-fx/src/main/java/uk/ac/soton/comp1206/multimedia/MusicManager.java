@@ -0,0 +1,220 @@
+package uk.ac.soton.comp1206.multimedia;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The MusicManager plays the looping background music, crossfading from one track to the next when the scene changes.
+ *
+ * Each track gets a single MediaPlayer, made from the media held by the AssetManager when the track is preloaded or
+ * first played, which is kept and played again whenever the track comes back round rather than building a new media
+ * pipeline every time. Only the track playing and the track fading out are ever running.
+ *
+ * A track which is missing or fails to play is left out from then on, with the music fading to silence instead. Other
+ * tracks and sound effects carry on as normal.
+ *
+ * Must only be used on the JavaFX thread.
+ */
+public class MusicManager {
+
+    private static final Logger logger = LogManager.getLogger(MusicManager.class);
+
+    /**
+     * Every music track shipped with the game
+     */
+    public static final String[] TRACKS = {
+            "music/menu.mp3",
+            "music/end.wav"
+    };
+
+    /**
+     * How long it takes one track to fade into the next
+     */
+    private static final Duration CROSSFADE = Duration.seconds(1);
+
+    /**
+     * The player of each track, by file
+     */
+    private final Map<String, MediaPlayer> players = new HashMap<>();
+
+    /**
+     * Tracks which are missing or failed to play
+     */
+    private final Set<String> failed = new HashSet<>();
+
+    /**
+     * The track playing, or fading in, and its player. Null when there is no music.
+     */
+    private String currentTrack;
+    private MediaPlayer current;
+
+    /**
+     * The player fading out, if any
+     */
+    private MediaPlayer outgoing;
+
+    /**
+     * The crossfade in progress, if any
+     */
+    private Timeline fade;
+
+    /**
+     * Get the player of every track shipped with the game ready, so scene changes do not wait on media being opened
+     */
+    public void preload() {
+        for (var track : TRACKS) {
+            getPlayer(track);
+        }
+        logger.info("Preloaded {} of {} music tracks", players.size(), TRACKS.length);
+    }
+
+    /**
+     * Crossfade to a track, looping it until another is played. Does nothing if the track is already playing.
+     * @param track the track, relative to the resources folder
+     */
+    public void play(String track) {
+        if (track.equals(currentTrack)) {
+            return;
+        }
+        logger.info("Playing music: {}", track);
+        currentTrack = track;
+        crossfade(getPlayer(track));
+    }
+
+    /**
+     * Fade the music out to silence
+     */
+    public void stop() {
+        currentTrack = null;
+        crossfade(null);
+    }
+
+    /**
+     * Fade the current player out and another in
+     * @param incoming the player to fade in, or null to fade to silence
+     */
+    private void crossfade(MediaPlayer incoming) {
+        //Cut any fade still going short
+        if (fade != null) {
+            fade.stop();
+            finishFade();
+        }
+
+        outgoing = current;
+        current = incoming;
+
+        var start = new ArrayList<KeyValue>();
+        var end = new ArrayList<KeyValue>();
+        if (incoming != null) {
+            incoming.setVolume(0);
+            incoming.seek(Duration.ZERO);
+            incoming.play();
+            start.add(new KeyValue(incoming.volumeProperty(), 0));
+            end.add(new KeyValue(incoming.volumeProperty(), 1));
+        }
+        if (outgoing != null) {
+            start.add(new KeyValue(outgoing.volumeProperty(), outgoing.getVolume()));
+            end.add(new KeyValue(outgoing.volumeProperty(), 0));
+        }
+
+        fade = new Timeline(
+                new KeyFrame(Duration.ZERO, start.toArray(new KeyValue[0])),
+                new KeyFrame(CROSSFADE, end.toArray(new KeyValue[0])));
+        fade.setOnFinished(event -> finishFade());
+        fade.play();
+    }
+
+    /**
+     * Stop the player which has faded out, and bring the current one to full volume
+     */
+    private void finishFade() {
+        if (outgoing != null && outgoing != current) {
+            outgoing.stop();
+        }
+        if (current != null) {
+            current.setVolume(1);
+        }
+        outgoing = null;
+        fade = null;
+    }
+
+    /**
+     * Get the player for a track, making it if it has not been made yet
+     * @param track the track, relative to the resources folder
+     * @return the player, or null if the track is missing or has failed
+     */
+    private MediaPlayer getPlayer(String track) {
+        var player = players.get(track);
+        if (player != null || failed.contains(track)) {
+            return player;
+        }
+
+        try {
+            var media = AssetManager.getInstance().getMedia(track);
+            if (media == null) {
+                failed.add(track);
+                return null;
+            }
+            player = new MediaPlayer(media);
+        } catch (Exception e) {
+            logger.error("Unable to load music track {}: {}", track, e.getMessage());
+            failed.add(track);
+            return null;
+        }
+
+        //Loops the music continuously
+        player.setCycleCount(MediaPlayer.INDEFINITE);
+        var created = player;
+        player.setOnError(() -> fail(track, created));
+        players.put(track, player);
+        return player;
+    }
+
+    /**
+     * Leave out a track which failed while loading or playing
+     * @param track the track
+     * @param player its player
+     */
+    private void fail(String track, MediaPlayer player) {
+        logger.error("Unable to play music track {}: {}", track, player.getError());
+        failed.add(track);
+        players.remove(track);
+        if (current == player) {
+            current = null;
+        }
+        if (outgoing == player) {
+            outgoing = null;
+        }
+        player.dispose();
+    }
+
+    /**
+     * Stop the music and release every player
+     */
+    public void shutdown() {
+        if (fade != null) {
+            fade.stop();
+            fade = null;
+        }
+        for (var player : players.values()) {
+            player.dispose();
+        }
+        players.clear();
+        current = null;
+        outgoing = null;
+        currentTrack = null;
+        logger.info("Music manager shut down");
+    }
+
+}
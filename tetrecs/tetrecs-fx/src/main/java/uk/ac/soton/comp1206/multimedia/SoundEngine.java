@@ -0,0 +1,149 @@
+package uk.ac.soton.comp1206.multimedia;
+
+import javafx.scene.media.AudioClip;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The SoundEngine plays short sound effects from clips decoded once and kept in memory, so playing a sound costs no
+ * decoding and creates no native player.
+ *
+ * The clips are held by the AssetManager, which decodes every sound in the sounds folder while the game loads. A sound
+ * which was not loaded is decoded the first time it is played, and kept from then on.
+ *
+ * At most a fixed number of sounds play at once. Each sound played takes a voice, which stays busy until the time its
+ * sound ends, worked out from the length of the sound's file. A sound whose length cannot be read is taken to last
+ * UNKNOWN_DURATION. When every voice is busy, the sound on the voice started longest ago is stopped to make room. An
+ * AudioClip can only stop every sound it is playing at once, so stopping it frees every voice playing that clip.
+ */
+public class SoundEngine {
+
+    private static final Logger logger = LogManager.getLogger(SoundEngine.class);
+
+    /**
+     * Every sound effect shipped with the game
+     */
+    public static final String[] SOUNDS = {
+            "sounds/clear.wav",
+            "sounds/explode.wav",
+            "sounds/fail.wav",
+            "sounds/intro.mp3",
+            "sounds/level.wav",
+            "sounds/lifegain.wav",
+            "sounds/lifelose.wav",
+            "sounds/message.wav",
+            "sounds/place.wav",
+            "sounds/pling.wav",
+            "sounds/rotate.wav",
+            "sounds/transition.wav"
+    };
+
+    /**
+     * How long a sound is taken to last when the length of its file cannot be read, in milliseconds
+     */
+    private static final long UNKNOWN_DURATION = 3000;
+
+    /**
+     * The clip playing on each voice, or null if the voice is free
+     */
+    private final AudioClip[] voices;
+
+    /**
+     * When the sound on each voice started, from System.nanoTime
+     */
+    private final long[] voiceStarts;
+
+    /**
+     * When the sound on each voice ends, from System.nanoTime
+     */
+    private final long[] voiceEnds;
+
+    /**
+     * Create a new sound engine
+     * @param polyphony the most sounds which can play at once
+     */
+    public SoundEngine(int polyphony) {
+        this.voices = new AudioClip[polyphony];
+        this.voiceStarts = new long[polyphony];
+        this.voiceEnds = new long[polyphony];
+    }
+
+    /**
+     * Play a sound, stopping the oldest sound still playing if there are no voices free
+     * @param file the sound, relative to the resources folder
+     */
+    public void play(String file) {
+        var clip = AssetManager.getInstance().getClip(file);
+        if (clip == null) {
+            return;
+        }
+
+        var now = System.nanoTime();
+        var voice = findFreeVoice(now);
+        if (voice < 0) {
+            voice = stopOldest();
+        }
+
+        var duration = AssetManager.getInstance().getClipDuration(file);
+        voices[voice] = clip;
+        voiceStarts[voice] = now;
+        voiceEnds[voice] = now + TimeUnit.MILLISECONDS.toNanos(duration < 0 ? UNKNOWN_DURATION : duration);
+
+        clip.play();
+    }
+
+    /**
+     * Find a voice whose sound has ended
+     * @param now the time now, from System.nanoTime
+     * @return the voice, or -1 if every voice is busy
+     */
+    private int findFreeVoice(long now) {
+        for (var voice = 0; voice < voices.length; voice++) {
+            if (voices[voice] == null || voiceEnds[voice] - now <= 0) {
+                voices[voice] = null;
+                return voice;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Stop the sound started longest ago. Its clip stops every sound it is playing, so every voice playing that clip
+     * is freed.
+     * @return the voice the stopped sound was on
+     */
+    private int stopOldest() {
+        var oldest = 0;
+        for (var voice = 1; voice < voices.length; voice++) {
+            if (voiceStarts[voice] - voiceStarts[oldest] < 0) {
+                oldest = voice;
+            }
+        }
+
+        var clip = voices[oldest];
+        clip.stop();
+        for (var voice = 0; voice < voices.length; voice++) {
+            if (voices[voice] == clip) {
+                voices[voice] = null;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Stop every sound still playing, and let go of the decoded sounds
+     */
+    public void shutdown() {
+        for (var voice = 0; voice < voices.length; voice++) {
+            if (voices[voice] != null) {
+                voices[voice].stop();
+                voices[voice] = null;
+            }
+        }
+        AssetManager.getInstance().releaseClips();
+        logger.info("Sound engine shut down");
+    }
+
+}
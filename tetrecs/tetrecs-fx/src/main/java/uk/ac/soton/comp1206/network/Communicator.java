@@ -0,0 +1,458 @@
+package uk.ac.soton.comp1206.network;
+
+import com.neovisionaries.ws.client.*;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.event.CommunicationsListener;
+import uk.ac.soton.comp1206.event.MessageListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uses web sockets to talk to a web socket server and relays communication to attached listeners
+ *
+ * The connection is opened in the background, so creating a Communicator never waits on the server. If the connection
+ * cannot be opened, or is lost, it is tried again after a delay which doubles with every failed attempt up to a limit,
+ * with some randomness so that many clients do not all retry at the same moment.
+ *
+ * Sending never touches the socket. Messages go into a bounded OutboundQueue, which coalesces superseded SCORE and
+ * BOARD updates, and a dedicated sender thread writes them to the socket in order whenever there is a connection. The
+ * socket only buffers a few frames itself, so a slow connection makes the sender wait rather than letting messages
+ * pile up without limit. What happens to new messages when the queue is full is set by its OverflowPolicy, and what
+ * happens to every message is counted in the SenderMetrics. A message only counts as sent once the socket has written
+ * it; any the socket still held when the connection was lost go back to the front of the queue for the next one.
+ *
+ * The state of the connection can be followed through connectionStateProperty.
+ */
+public class Communicator {
+
+    private static final Logger logger = LogManager.getLogger(Communicator.class);
+
+    /**
+     * The delay before the first attempt to reconnect
+     */
+    private static final long RECONNECT_BASE_MILLIS = 500;
+
+    /**
+     * The longest delay between attempts to reconnect
+     */
+    private static final long RECONNECT_MAX_MILLIS = 30_000;
+
+    /**
+     * The most messages waiting to be sent, unless given
+     */
+    private static final int QUEUE_CAPACITY = 256;
+
+    /**
+     * The most frames the socket buffers before the sender has to wait for them to be written
+     */
+    private static final int FRAME_QUEUE_SIZE = 8;
+
+    /**
+     * Routes each message received to the listeners subscribed to its command
+     */
+    private final MessageDispatcher dispatcher;
+
+    /**
+     * Where listeners and the connection state property are updated, normally the JavaFX thread
+     */
+    private final Executor listenerThread;
+
+    private final String server;
+
+    private WebSocket ws = null;
+
+    /**
+     * Guards the connection state and socket, and is notified whenever the state changes
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Messages waiting to be written to the socket
+     */
+    private final OutboundQueue outbound;
+
+    private final SenderMetrics metrics = new SenderMetrics();
+
+    /**
+     * Messages handed to the socket which it has not yet written, oldest first. Whatever is left when the connection
+     * is lost was never sent, and goes back to the front of the outbound queue. Guarded by lock.
+     */
+    private final ArrayDeque<String> inFlight = new ArrayDeque<>();
+
+    /**
+     * Writes messages from the outbound queue to the socket
+     */
+    private final Thread sender;
+
+    /**
+     * The state of the connection, as seen by the web socket threads
+     */
+    private volatile ConnectionState state = ConnectionState.CONNECTING;
+
+    /**
+     * The state of the connection, as seen by the JavaFX thread
+     */
+    private final ReadOnlyObjectWrapper<ConnectionState> stateProperty =
+            new ReadOnlyObjectWrapper<>(ConnectionState.CONNECTING);
+
+    /**
+     * The number of attempts to connect which have failed in a row
+     */
+    private int attempts;
+
+    /**
+     * Runs the delayed attempts to reconnect
+     */
+    private final ScheduledExecutorService reconnector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "communicator-reconnect");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Create a new communicator to the given web socket server, dropping the oldest waiting message when too many are
+     * waiting to be sent. Returns straight away; the connection is opened in the background.
+     *
+     * @param server server to connect to
+     */
+    public Communicator(String server) {
+        this(server, QUEUE_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Create a new communicator to the given web socket server. Returns straight away; the connection is opened in
+     * the background.
+     *
+     * @param server server to connect to
+     * @param capacity the most messages which can wait to be sent
+     * @param policy what to do with a new message when too many are waiting
+     */
+    public Communicator(String server, int capacity, OverflowPolicy policy) {
+        this(server, capacity, policy, Platform::runLater);
+    }
+
+    /**
+     * Create a new communicator to the given web socket server, calling listeners on the given executor rather than
+     * the JavaFX thread. Used to run communicators without JavaFX, for example from a load test.
+     *
+     * @param server server to connect to
+     * @param capacity the most messages which can wait to be sent
+     * @param policy what to do with a new message when too many are waiting
+     * @param listenerThread where listeners are called
+     */
+    public Communicator(String server, int capacity, OverflowPolicy policy, Executor listenerThread) {
+        this.server = server;
+        this.listenerThread = listenerThread;
+        this.dispatcher = new MessageDispatcher(listenerThread);
+        this.outbound = new OutboundQueue(capacity, policy, metrics);
+
+        //Each board replaces the last one from the same player, so a storm of them only needs the latest applied
+        dispatcher.conflate("BOARD");
+        this.sender = new Thread(this::sendMessages, "communicator-sender");
+        sender.setDaemon(true);
+
+        try {
+            var socketFactory = new WebSocketFactory();
+            ws = socketFactory.createSocket(server);
+            ws.setFrameQueueSize(FRAME_QUEUE_SIZE);
+        } catch (Exception e) {
+            logger.error("Unable to create socket to " + server + ": " + e.getMessage());
+            setState(ConnectionState.CLOSED);
+            return;
+        }
+
+        //When a message is received, call the receive method
+        ws.addListener(new WebSocketAdapter() {
+            @Override
+            public void onTextMessage(WebSocket websocket, String message) throws Exception {
+                Communicator.this.receive(websocket, message);
+            }
+            @Override
+            public void onPingFrame(WebSocket webSocket, WebSocketFrame webSocketFrame) throws Exception {
+                logger.info("Ping? Pong!");
+            }
+        });
+
+        //Connection lifecycle
+        ws.addListener(new WebSocketAdapter() {
+            @Override
+            public void onConnected(WebSocket websocket, Map<String, List<String>> headers) throws Exception {
+                connected();
+            }
+            @Override
+            public void onConnectError(WebSocket websocket, WebSocketException e) throws Exception {
+                logger.error("Unable to connect to " + server + ": " + e.getMessage());
+                disconnected();
+            }
+            @Override
+            public void onFrameSent(WebSocket websocket, WebSocketFrame frame) throws Exception {
+                if (frame.isTextFrame()) {
+                    sent();
+                }
+            }
+            @Override
+            public void onDisconnected(WebSocket websocket, WebSocketFrame serverCloseFrame,
+                                       WebSocketFrame clientCloseFrame, boolean closedByServer) throws Exception {
+                logger.info("Disconnected from " + server);
+                disconnected();
+            }
+        });
+
+        //Error handling
+        ws.addListener(new WebSocketAdapter() {
+            @Override
+            public void onTextMessage(WebSocket websocket, String message) throws Exception {
+                if(message.startsWith("ERROR")) {
+                    logger.error(message);
+                }
+            }
+            @Override
+            public void handleCallbackError(WebSocket webSocket, Throwable throwable) throws Exception {
+                logger.error("Callback Error:" + throwable.getMessage());
+                throwable.printStackTrace();
+            }
+            @Override
+            public void onError(WebSocket webSocket, WebSocketException e) throws Exception {
+                logger.error("Error:" + e.getMessage());
+            }
+        });
+
+        logger.info("Connecting to " + server);
+        sender.start();
+        ws.connectAsynchronously();
+    }
+
+    /**
+     * Called on a web socket thread once the connection is open. Lets the sender carry on.
+     */
+    private void connected() {
+        logger.info("Connected to " + server);
+        synchronized (lock) {
+            if (state == ConnectionState.CLOSED) {
+                ws.disconnect();
+                return;
+            }
+            attempts = 0;
+            setState(ConnectionState.CONNECTED);
+        }
+    }
+
+    /**
+     * Run by the sender thread: write each message to the socket in turn, waiting while there is no connection
+     */
+    private void sendMessages() {
+        try {
+            while (true) {
+                var message = outbound.take();
+
+                WebSocket socket;
+                synchronized (lock) {
+                    while (state != ConnectionState.CONNECTED) {
+                        if (state == ConnectionState.CLOSED) {
+                            return;
+                        }
+                        lock.wait();
+                    }
+                    socket = ws;
+                    inFlight.add(message);
+                }
+
+                //Waits here while the socket's own frame queue is full. Only counted as sent once it is written.
+                socket.sendText(message);
+            }
+        } catch (InterruptedException e) {
+            logger.info("Sender stopped");
+        }
+    }
+
+    /**
+     * Called on the web socket's writing thread when it has written a text frame. Frames are written in the order
+     * they were handed over, so this is the oldest message in flight.
+     */
+    private void sent() {
+        synchronized (lock) {
+            var message = inFlight.poll();
+            if (message != null) {
+                metrics.messageSent(message.length());
+            }
+        }
+    }
+
+    /**
+     * Called on a web socket thread when the connection could not be opened or was lost. Schedules another attempt.
+     *
+     * Both of the socket's threads have finished by now, so any message still in flight was never written: the
+     * socket either dropped it unsent from its own queue or was no longer open when it was handed over. Those
+     * messages go back to the front of the outbound queue to be sent on the next connection.
+     */
+    private void disconnected() {
+        long delay;
+        synchronized (lock) {
+            if (state == ConnectionState.CLOSED || state == ConnectionState.DISCONNECTED) {
+                return;
+            }
+            setState(ConnectionState.DISCONNECTED);
+
+            if (!inFlight.isEmpty()) {
+                logger.info("Requeueing " + inFlight.size() + " unsent messages");
+                outbound.requeue(new ArrayList<>(inFlight));
+                inFlight.clear();
+            }
+
+            //Exponential backoff, with the delay picked at random from the upper half so clients spread out
+            var backoff = Math.min(RECONNECT_MAX_MILLIS, RECONNECT_BASE_MILLIS << Math.min(attempts, 16));
+            delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+            attempts++;
+        }
+
+        logger.info("Reconnecting to " + server + " in " + delay + "ms");
+        reconnector.schedule(this::reconnect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Try to open the connection again
+     */
+    private void reconnect() {
+        WebSocket socket;
+        synchronized (lock) {
+            if (state == ConnectionState.CLOSED) {
+                return;
+            }
+            setState(ConnectionState.CONNECTING);
+            try {
+                ws = ws.recreate();
+                ws.setFrameQueueSize(FRAME_QUEUE_SIZE);
+            } catch (Exception e) {
+                logger.error("Unable to reconnect to " + server + ": " + e.getMessage());
+                disconnected();
+                return;
+            }
+            socket = ws;
+        }
+        socket.connectAsynchronously();
+    }
+
+    /**
+     * Record a new connection state, and pass it on to the JavaFX thread
+     * @param state the new state
+     */
+    private void setState(ConnectionState state) {
+        synchronized (lock) {
+            this.state = state;
+            lock.notifyAll();
+        }
+        listenerThread.execute(() -> stateProperty.set(state));
+    }
+
+    /** Send a message to the server. The message is queued for the sender thread, so this never waits on the socket
+     * unless the policy is BLOCK and the queue is full.
+     *
+     * @param message Message to send
+     * @throws IllegalStateException if the queue is full and the policy is FAIL
+     */
+    public void send(String message) {
+        logger.debug("Sending message: {}", message);
+
+        if (state == ConnectionState.CLOSED) {
+            logger.error("Communicator closed, dropping message");
+            return;
+        }
+        outbound.offer(message);
+    }
+
+    /**
+     * Close the connection for good
+     */
+    public void close() {
+        synchronized (lock) {
+            setState(ConnectionState.CLOSED);
+            outbound.clear();
+            inFlight.clear();
+            if (ws != null) {
+                ws.disconnect();
+            }
+        }
+        reconnector.shutdownNow();
+        sender.interrupt();
+    }
+
+    /**
+     * Get the counts of what has happened to the messages sent
+     * @return sender metrics
+     */
+    public SenderMetrics getSenderMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Get the state of the connection. Only changes on the JavaFX thread, or the listener executor if one was given.
+     * @return connection state property
+     */
+    public ReadOnlyObjectProperty<ConnectionState> connectionStateProperty() {
+        return stateProperty.getReadOnlyProperty();
+    }
+
+    /**
+     * Get the state of the connection
+     * @return connection state
+     */
+    public ConnectionState getConnectionState() {
+        return state;
+    }
+
+    /**
+     * Add a new listener to receive every message from the server, on the JavaFX thread
+     * @param listener the listener to add
+     */
+    public void addListener(CommunicationsListener listener) {
+        dispatcher.subscribeAll(message -> listener.receiveCommunication(message.getRaw()));
+    }
+
+    /**
+     * Add a new listener to receive the messages from the server with the given command, on the JavaFX thread
+     * @param command the command, for example SCORES
+     * @param listener the listener to add
+     */
+    public void addListener(String command, MessageListener listener) {
+        dispatcher.subscribe(command, listener);
+    }
+
+    /**
+     * Remove a listener added with addListener for a command
+     * @param listener the listener to remove
+     */
+    public void removeListener(MessageListener listener) {
+        dispatcher.unsubscribe(listener);
+    }
+
+    /**
+     * Clear all current listeners
+     */
+    public void clearListeners() {
+        dispatcher.clear();
+    }
+
+    /** Receive a message from the server. Parse it once and pass it to the listeners subscribed to it.
+     *
+     * @param websocket the socket
+     * @param message the message that was received
+     */
+    private void receive(WebSocket websocket, String message) {
+        logger.debug("Received: {}", message);
+
+        dispatcher.dispatch(Message.parse(message));
+    }
+
+}
@@ -0,0 +1,27 @@
+package uk.ac.soton.comp1206.network;
+
+/**
+ * The state of the Communicator's connection to the server
+ */
+public enum ConnectionState {
+
+    /**
+     * Opening a connection, for the first time or after losing one
+     */
+    CONNECTING,
+
+    /**
+     * Connected, messages are sent straight away
+     */
+    CONNECTED,
+
+    /**
+     * Not connected, waiting to try again. Messages are queued until the connection is back.
+     */
+    DISCONNECTED,
+
+    /**
+     * Closed for good, nothing more will be sent or received
+     */
+    CLOSED
+}
@@ -0,0 +1,78 @@
+package uk.ac.soton.comp1206.network;
+
+/**
+ * A message received from the server, parsed once into its command and payload.
+ *
+ * Messages are a command word, then optionally a space and a payload, for example "SCORE 100" or "SCORES name:100\n...".
+ * Multi-line payloads are only split into lines if asked for, and only once.
+ */
+public class Message {
+
+    private final String raw;
+    private final String command;
+    private final String payload;
+
+    /**
+     * The lines of the payload, split the first time they are asked for
+     */
+    private String[] lines;
+
+    private Message(String raw, String command, String payload) {
+        this.raw = raw;
+        this.command = command;
+        this.payload = payload;
+    }
+
+    /**
+     * Parse a message from the server
+     * @param raw the message as received
+     * @return the parsed message
+     */
+    public static Message parse(String raw) {
+        var space = raw.indexOf(' ');
+        if (space < 0) {
+            return new Message(raw, raw.strip(), "");
+        }
+        return new Message(raw, raw.substring(0, space), raw.substring(space + 1));
+    }
+
+    /**
+     * Get the command of the message, its first word
+     * @return command
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Get everything after the command
+     * @return payload, empty if there is none
+     */
+    public String getPayload() {
+        return payload;
+    }
+
+    /**
+     * Get the payload split into lines
+     * @return lines of the payload
+     */
+    public String[] getLines() {
+        if (lines == null) {
+            lines = payload.isEmpty() ? new String[0] : payload.split("\n");
+        }
+        return lines;
+    }
+
+    /**
+     * Get the message as it was received
+     * @return raw message
+     */
+    public String getRaw() {
+        return raw;
+    }
+
+    @Override
+    public String toString() {
+        return raw;
+    }
+}
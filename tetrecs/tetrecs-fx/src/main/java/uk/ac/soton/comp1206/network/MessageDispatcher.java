@@ -0,0 +1,198 @@
+package uk.ac.soton.comp1206.network;
+
+import javafx.application.Platform;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.event.MessageListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The MessageDispatcher routes messages from the server to the listeners subscribed to their command.
+ *
+ * Messages arrive on the web socket thread and are delivered on the JavaFX thread. Rather than one hop to the JavaFX
+ * thread per message, messages are collected and a burst of them is delivered in a single run.
+ *
+ * Listeners can subscribe and unsubscribe from any thread at any time, including from inside a listener. The
+ * registry is copy on write, so a delivery in progress carries on with the listeners it started with.
+ *
+ * Some commands can be conflated, which is meant for messages like BOARD where each one replaces the last for the same
+ * player. While one is waiting, a newer one for the same player takes its place in the queue instead of queueing
+ * behind it, so only the latest is delivered however many arrive between runs.
+ */
+public class MessageDispatcher {
+
+    private static final Logger logger = LogManager.getLogger(MessageDispatcher.class);
+
+    /**
+     * The listeners subscribed to each command
+     */
+    private final Map<String, List<MessageListener>> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * The listeners subscribed to every message
+     */
+    private final List<MessageListener> allListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The commands which are conflated
+     */
+    private final Set<String> conflated = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The latest message waiting for each conflated command and player
+     */
+    private final Map<String, Message> latest = new ConcurrentHashMap<>();
+
+    /**
+     * Messages waiting to be delivered. A conflated message stands for whatever is latest for its player when it
+     * is reached.
+     */
+    private final ConcurrentLinkedQueue<Message> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether a delivery run has been scheduled and not yet started
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Where delivery runs happen
+     */
+    private final Executor deliveryThread;
+
+    /**
+     * Create a new dispatcher delivering on the JavaFX thread
+     */
+    public MessageDispatcher() {
+        this(Platform::runLater);
+    }
+
+    /**
+     * Create a new dispatcher delivering on the given executor
+     * @param deliveryThread where listeners are called
+     */
+    public MessageDispatcher(Executor deliveryThread) {
+        this.deliveryThread = deliveryThread;
+    }
+
+    /**
+     * Subscribe a listener to every message with the given command
+     * @param command the command
+     * @param listener the listener
+     */
+    public void subscribe(String command, MessageListener listener) {
+        listeners.computeIfAbsent(command, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Subscribe a listener to every message
+     * @param listener the listener
+     */
+    public void subscribeAll(MessageListener listener) {
+        allListeners.add(listener);
+    }
+
+    /**
+     * Conflate messages with the given command, so that only the latest waiting for each player is delivered. The
+     * player is the payload up to the first colon.
+     * @param command the command
+     */
+    public void conflate(String command) {
+        conflated.add(command);
+    }
+
+    /**
+     * Unsubscribe a listener from everything it was subscribed to
+     * @param listener the listener
+     */
+    public void unsubscribe(MessageListener listener) {
+        allListeners.remove(listener);
+        for (var subscribed : listeners.values()) {
+            subscribed.remove(listener);
+        }
+    }
+
+    /**
+     * Unsubscribe every listener
+     */
+    public void clear() {
+        allListeners.clear();
+        listeners.clear();
+    }
+
+    /**
+     * Queue a message for delivery, scheduling a delivery run if one is not already waiting
+     * @param message the message
+     */
+    public void dispatch(Message message) {
+        if (!conflated.contains(message.getCommand())) {
+            pending.add(message);
+        } else if (latest.put(getConflationKey(message), message) == null) {
+            //Nothing waiting for this player yet, so take a place in the queue
+            pending.add(message);
+        } else {
+            //Replaced a message which already has a place in the queue
+            return;
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            deliveryThread.execute(this::deliver);
+        }
+    }
+
+    /**
+     * Deliver every message waiting, in the order they arrived
+     */
+    private void deliver() {
+        //Messages arriving from now on need another run
+        scheduled.set(false);
+
+        Message message;
+        while ((message = pending.poll()) != null) {
+            if (conflated.contains(message.getCommand())) {
+                message = latest.remove(getConflationKey(message));
+                if (message == null) continue;
+            }
+
+            var subscribed = listeners.get(message.getCommand());
+            if (subscribed != null) {
+                for (var listener : subscribed) {
+                    deliver(listener, message);
+                }
+            }
+            for (var listener : allListeners) {
+                deliver(listener, message);
+            }
+        }
+    }
+
+    /**
+     * Get the key a conflated message is replaced under: its command and player
+     * @param message the message
+     * @return key
+     */
+    private static String getConflationKey(Message message) {
+        var payload = message.getPayload();
+        var colon = payload.indexOf(':');
+        return message.getCommand() + " " + (colon < 0 ? payload : payload.substring(0, colon));
+    }
+
+    /**
+     * Deliver a message to one listener, so that one failing listener does not stop the others
+     * @param listener the listener
+     * @param message the message
+     */
+    private void deliver(MessageListener listener, Message message) {
+        try {
+            listener.receiveMessage(message);
+        } catch (Exception e) {
+            logger.error("Listener failed handling " + message.getCommand(), e);
+        }
+    }
+}
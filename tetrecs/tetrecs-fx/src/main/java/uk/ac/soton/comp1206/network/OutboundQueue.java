@@ -0,0 +1,214 @@
+package uk.ac.soton.comp1206.network;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The OutboundQueue holds messages waiting to be sent to the server, between the threads which send them and the
+ * Communicator's sender thread which writes them to the socket.
+ *
+ * The queue holds a fixed number of messages. What happens when it is full is decided by its OverflowPolicy.
+ *
+ * Some messages only matter in their latest form, such as the player's SCORE or BOARD. A message of one of those types
+ * replaces any message of the same type still waiting, keeping the older message's place in the queue, so a slow
+ * connection sends the latest state rather than every state in between.
+ */
+public class OutboundQueue {
+
+    /**
+     * The message types where only the latest message matters
+     */
+    private static final Set<String> COALESCED = Set.of("SCORE", "BOARD");
+
+    /**
+     * A place in the queue. Its message is replaced when coalescing.
+     */
+    private static class Slot {
+        private final String type;
+        private String message;
+
+        Slot(String type, String message) {
+            this.type = type;
+            this.message = message;
+        }
+    }
+
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final SenderMetrics metrics;
+
+    private final ArrayDeque<Slot> slots = new ArrayDeque<>();
+
+    /**
+     * The waiting slot of each coalesced message type
+     */
+    private final Map<String, Slot> waiting = new HashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Create a new outbound queue
+     * @param capacity the most messages which can wait
+     * @param policy what to do with a new message when the queue is full
+     * @param metrics where to count what happens to messages
+     */
+    public OutboundQueue(int capacity, OverflowPolicy policy, SenderMetrics metrics) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Add a message to the queue, or replace the waiting message of the same type if it is coalesced
+     * @param message the message
+     * @throws IllegalStateException if the queue is full and the policy is FAIL
+     */
+    public void offer(String message) {
+        var type = typeOf(message);
+        lock.lock();
+        try {
+            var slot = COALESCED.contains(type) ? waiting.get(type) : null;
+            if (slot != null) {
+                slot.message = message;
+                metrics.messageCoalesced();
+                return;
+            }
+
+            while (slots.size() == capacity) {
+                switch (policy) {
+                    case DROP_OLDEST:
+                        unregister(slots.poll());
+                        metrics.messageDropped();
+                        break;
+                    case BLOCK:
+                        notFull.awaitUninterruptibly();
+                        break;
+                    default:
+                        metrics.messageRejected();
+                        throw new IllegalStateException("Outbound queue full, cannot send: " + type);
+                }
+            }
+
+            slot = new Slot(type, message);
+            slots.add(slot);
+            if (COALESCED.contains(type)) {
+                waiting.put(type, slot);
+            }
+            metrics.messageQueued(slots.size());
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Put messages which were taken but never sent back at the front of the queue, in the order given, ahead of every
+     * message waiting. A coalesced message is dropped instead if a newer one of its type is already waiting. These
+     * messages were already counted in, so they may take the queue over its capacity.
+     * @param messages the messages, oldest first
+     */
+    public void requeue(List<String> messages) {
+        lock.lock();
+        try {
+            //Working from the newest back, so each goes in front of the ones after it
+            for (var i = messages.size() - 1; i >= 0; i--) {
+                var message = messages.get(i);
+                var type = typeOf(message);
+                if (COALESCED.contains(type)) {
+                    if (waiting.containsKey(type)) {
+                        metrics.messageCoalesced();
+                        continue;
+                    }
+                    var slot = new Slot(type, message);
+                    slots.addFirst(slot);
+                    waiting.put(type, slot);
+                } else {
+                    slots.addFirst(new Slot(type, message));
+                }
+                metrics.messageRequeued();
+            }
+            if (!slots.isEmpty()) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take the oldest message, waiting for one if the queue is empty
+     * @return the message
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public String take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (slots.isEmpty()) {
+                notEmpty.await();
+            }
+            var slot = slots.poll();
+            unregister(slot);
+            notFull.signal();
+            return slot.message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop coalescing into a slot which has left the queue
+     * @param slot the slot
+     */
+    private void unregister(Slot slot) {
+        if (waiting.get(slot.type) == slot) {
+            waiting.remove(slot.type);
+        }
+    }
+
+    /**
+     * Drop every waiting message
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            slots.clear();
+            waiting.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of messages waiting
+     * @return queue depth
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the type of a message: its first word
+     * @param message the message
+     * @return the type
+     */
+    private static String typeOf(String message) {
+        var space = message.indexOf(' ');
+        return space < 0 ? message : message.substring(0, space);
+    }
+}
@@ -0,0 +1,22 @@
+package uk.ac.soton.comp1206.network;
+
+/**
+ * What the OutboundQueue does with a new message when it is full
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Drop the oldest message waiting to make room
+     */
+    DROP_OLDEST,
+
+    /**
+     * Wait for the sender to make room. Never use from the JavaFX thread.
+     */
+    BLOCK,
+
+    /**
+     * Refuse the new message with an IllegalStateException
+     */
+    FAIL
+}
@@ -0,0 +1,116 @@
+package uk.ac.soton.comp1206.network;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts what has happened to the messages given to the Communicator to send. Safe to read from any thread.
+ */
+public class SenderMetrics {
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong requeued = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong sentChars = new AtomicLong();
+    private final AtomicLong highWater = new AtomicLong();
+
+    void messageQueued(int depth) {
+        queued.incrementAndGet();
+        highWater.accumulateAndGet(depth, Math::max);
+    }
+
+    void messageCoalesced() {
+        coalesced.incrementAndGet();
+    }
+
+    void messageDropped() {
+        dropped.incrementAndGet();
+    }
+
+    void messageRejected() {
+        rejected.incrementAndGet();
+    }
+
+    void messageRequeued() {
+        requeued.incrementAndGet();
+    }
+
+    void messageSent(int length) {
+        sent.incrementAndGet();
+        sentChars.addAndGet(length);
+    }
+
+    /**
+     * Get the number of messages added to the queue, not counting those which replaced a waiting message
+     * @return messages queued
+     */
+    public long getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * Get the number of messages which replaced an older message of the same type still waiting
+     * @return messages coalesced
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * Get the number of waiting messages dropped to make room for newer ones
+     * @return messages dropped
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the number of messages refused because the queue was full
+     * @return messages rejected
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Get the number of messages handed to the socket but not written before the connection was lost, which were put
+     * back at the front of the queue
+     * @return messages requeued
+     */
+    public long getRequeued() {
+        return requeued.get();
+    }
+
+    /**
+     * Get the number of messages written to the socket
+     * @return messages sent
+     */
+    public long getSent() {
+        return sent.get();
+    }
+
+    /**
+     * Get the total length of the messages written to the socket
+     * @return characters sent
+     */
+    public long getSentChars() {
+        return sentChars.get();
+    }
+
+    /**
+     * Get the most messages ever waiting at once
+     * @return largest queue depth
+     */
+    public long getHighWater() {
+        return highWater.get();
+    }
+
+    @Override
+    public String toString() {
+        return "queued " + getQueued() + ", coalesced " + getCoalesced() + ", dropped " + getDropped()
+                + ", rejected " + getRejected() + ", requeued " + getRequeued() + ", sent " + getSent() + " (" + getSentChars() + " chars)"
+                + ", high water " + getHighWater();
+    }
+}
@@ -1,7 +1,14 @@
 package uk.ac.soton.comp1206.scene;
 
 import javafx.scene.Scene;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
+import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
+import uk.ac.soton.comp1206.multimedia.AssetManager;
 import uk.ac.soton.comp1206.ui.GamePane;
 import uk.ac.soton.comp1206.ui.GameWindow;
 
@@ -45,6 +52,22 @@ public abstract class BaseScene {
         return scene;
     }
 
+    /**
+     * Cover a pane with a background image, decoded at the size of the window and shared with every other scene using
+     * the same background
+     * @param pane the pane
+     * @param file the image, relative to the resources folder
+     */
+    protected void setBackgroundImage(Region pane, String file) {
+        var image = AssetManager.getInstance().getImage(file, gameWindow.getWidth(), gameWindow.getHeight());
+        if (image == null) {
+            return;
+        }
+        var size = new BackgroundSize(BackgroundSize.AUTO, BackgroundSize.AUTO, false, false, false, true);
+        pane.setBackground(new Background(new BackgroundImage(image, BackgroundRepeat.NO_REPEAT,
+                BackgroundRepeat.NO_REPEAT, BackgroundPosition.CENTER, size)));
+    }
+
     /**
      * Get the JavaFX scene contained inside
      * @return JavaFX scene
@@ -7,9 +7,11 @@ import javafx.scene.layout.*;
 import javafx.scene.text.Text;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.component.CanvasGameBoard;
 import uk.ac.soton.comp1206.component.GameBlock;
 import uk.ac.soton.comp1206.component.GameBoard;
 import uk.ac.soton.comp1206.game.Game;
+import uk.ac.soton.comp1206.multimedia.Multimedia;
 import uk.ac.soton.comp1206.ui.GamePane;
 import uk.ac.soton.comp1206.ui.GameWindow;
 import uk.ac.soton.comp1206.ui.PieceBoard;
@@ -20,14 +22,42 @@ import uk.ac.soton.comp1206.ui.PieceBoard;
 public class ChallengeScene extends BaseScene {
 
     private static final Logger logger = LogManager.getLogger(MenuScene.class);
+
+    /**
+     * Boards with more cells than this are drawn on a single CanvasGameBoard instead of a GameBlock node per cell. The
+     * standard 5x5 board is small enough to keep its nodes, which every custom size larger than it would not be.
+     */
+    private static final int CANVAS_THRESHOLD = 25;
     protected Game game;
 
     /**
-     * Create a new Single Player challenge scene
+     * Number of columns of the board
+     */
+    private final int cols;
+
+    /**
+     * Number of rows of the board
+     */
+    private final int rows;
+
+    /**
+     * Create a new Single Player challenge scene on the standard 5x5 board
      * @param gameWindow the Game Window
      */
     public ChallengeScene(GameWindow gameWindow) {
+        this(gameWindow, 5, 5);
+    }
+
+    /**
+     * Create a new Single Player challenge scene on a board of any size
+     * @param gameWindow the Game Window
+     * @param cols number of columns of the board
+     * @param rows number of rows of the board
+     */
+    public ChallengeScene(GameWindow gameWindow, int cols, int rows) {
         super(gameWindow);
+        this.cols = cols;
+        this.rows = rows;
         logger.info("Creating Menu Scene");
     }
 
@@ -48,6 +78,7 @@ public class ChallengeScene extends BaseScene {
         challengePane.setMaxHeight(gameWindow.getHeight());
         //using .css to create the background using the "menu-background" on the file
         challengePane.getStyleClass().add("menu-background");
+        setBackgroundImage(challengePane, "images/1.jpg");
 
         //Showing the score, level, multiplier and lives
         //creating a vbox
@@ -88,7 +119,13 @@ public class ChallengeScene extends BaseScene {
         var mainPane = new BorderPane();
         challengePane.getChildren().add(mainPane);
 
-        var board = new GameBoard(game.getGrid(),gameWindow.getWidth()/2,gameWindow.getWidth()/2);
+        //Boards larger than the standard one are drawn on a single canvas instead of a node per block
+        GameBoard board;
+        if (cols * rows > CANVAS_THRESHOLD) {
+            board = new CanvasGameBoard(game.getGrid(),gameWindow.getWidth()/2,gameWindow.getWidth()/2);
+        } else {
+            board = new GameBoard(game.getGrid(),gameWindow.getWidth()/2,gameWindow.getWidth()/2);
+        }
         mainPane.setCenter(board);
 
         //Handle block on game board grid being clicked
@@ -100,17 +137,17 @@ public class ChallengeScene extends BaseScene {
      * @param gameBlock the Game Block that was clocked
      */
     private void blockClicked(GameBlock gameBlock) {
-        game.blockClicked(gameBlock);
+        game.blockClicked(gameBlock.getX(), gameBlock.getY());
     }
 
     /**
      * Setup the game object and model
      */
     public void setupGame() {
-        logger.info("Starting a new challenge");
+        logger.info("Starting a new {}x{} challenge", cols, rows);
 
         //Start new game
-        game = new Game(5, 5);
+        game = new Game(cols, rows);
 
     }
 
@@ -121,6 +158,10 @@ public class ChallengeScene extends BaseScene {
     public void initialise() {
         logger.info("Initialising Challenge");
         game.start();
+
+        logger.info("Attempting background music");
+        //There is no separate game track, so the menu music carries on into the game
+        Multimedia.playBackgroundMusic("music/menu.mp3");
     }
 
 }
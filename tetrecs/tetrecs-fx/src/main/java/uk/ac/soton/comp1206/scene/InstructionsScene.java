@@ -45,6 +45,7 @@ public class InstructionsScene extends BaseScene {
         instructionsPane.setMaxWidth(gameWindow.getWidth());
         instructionsPane.setMaxHeight(gameWindow.getHeight());
         instructionsPane.getStyleClass().add("instructionsBackground");
+        setBackgroundImage(instructionsPane, "images/6.jpg");
 
         root.getChildren().add(instructionsPane);
         root.getChildren().add(backgroundPane);
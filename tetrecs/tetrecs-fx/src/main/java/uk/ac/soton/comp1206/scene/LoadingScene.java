@@ -1,18 +1,25 @@
 package uk.ac.soton.comp1206.scene;
 
 import javafx.animation.FadeTransition;
-import javafx.scene.image.Image;
+import javafx.application.Platform;
+import javafx.geometry.Pos;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.StackPane;
 import javafx.util.Duration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.multimedia.AssetManager;
+import uk.ac.soton.comp1206.multimedia.Multimedia;
 import uk.ac.soton.comp1206.ui.GamePane;
 import uk.ac.soton.comp1206.ui.GameWindow;
 
 /**
  * Class is the loading screen before we arrive at the menu
+ *
+ * Shows the logo and a progress bar while the AssetManager loads every asset in the background, then moves on to the
+ * menu.
  */
 public class LoadingScene extends BaseScene {
 
@@ -20,6 +27,8 @@ public class LoadingScene extends BaseScene {
 
     private ImageView logo;
 
+    private ProgressBar progressBar;
+
     /**
      * Create a new scene, passing in the GameWindow the scene will be displayed in
      * @param gameWindow the game window
@@ -41,12 +50,24 @@ public class LoadingScene extends BaseScene {
         var mainPane = new BorderPane();
         loadingPane.getChildren().add(mainPane);
 
+        logo = new ImageView();
+        logo.setPreserveRatio(true);
+        logo.setFitWidth(gameWindow.getWidth() / 2.0);
+        mainPane.setCenter(logo);
+
+        //Follows the assets as they load
+        progressBar = new ProgressBar();
+        progressBar.setPrefWidth(gameWindow.getWidth() / 2.0);
+        progressBar.progressProperty().bind(AssetManager.getInstance().progressProperty());
+        BorderPane.setAlignment(progressBar, Pos.CENTER);
+        mainPane.setBottom(progressBar);
+
         animateLogo();
     }
 
     public void animateLogo() {
-        Image ecsLogo = new Image("/coursework/tetrecs/src/main/resources/images/ECSGames.png");
-        logo.setImage(ecsLogo);
+        //The logo is needed before anything else has loaded, so is fetched straight away, at the size the manifest uses
+        logo.setImage(AssetManager.getInstance().getImage(AssetManager.LOGO, gameWindow.getWidth() / 2, 0));
         FadeTransition fadeTransition = new FadeTransition(Duration.millis(5000), logo);
         fadeTransition.setFromValue(0.0);
         fadeTransition.setToValue(1.0);
@@ -56,6 +77,19 @@ public class LoadingScene extends BaseScene {
     @Override
     public void initialise() {
         gameWindow.setupStage();
+
+        //Load everything in the background, then go to the menu
+        AssetManager.getInstance().load(gameWindow.getWidth(), gameWindow.getHeight()).thenRun(() -> Platform.runLater(this::loaded));
+    }
+
+    /**
+     * Called on the JavaFX thread once every asset has loaded
+     */
+    private void loaded() {
+        logger.info("Assets loaded, moving to the menu");
+        progressBar.progressProperty().unbind();
+        Multimedia.preloadAudio();
+        gameWindow.startMenu();
     }
 
-}
\ No newline at end of file
+}
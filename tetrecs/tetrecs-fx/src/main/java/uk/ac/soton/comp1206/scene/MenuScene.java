@@ -8,7 +8,7 @@ import javafx.scene.layout.*;
 import javafx.scene.text.Text;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import uk.ac.soton.comp1206.event.NextPieceListener;
+import uk.ac.soton.comp1206.game.event.NextPieceListener;
 import uk.ac.soton.comp1206.ui.GamePane;
 import uk.ac.soton.comp1206.ui.GameWindow;
 import uk.ac.soton.comp1206.multimedia.Multimedia;
@@ -20,6 +20,11 @@ public class MenuScene extends BaseScene {
 
     private static final Logger logger = LogManager.getLogger(MenuScene.class);
 
+    /**
+     * The number of columns and rows of a custom board, unless set with the tetrecs.cols and tetrecs.rows properties
+     */
+    private static final int CUSTOM_SIZE = 10;
+
     private NextPieceListener nextPieceListener;
 
     /**
@@ -54,6 +59,7 @@ public class MenuScene extends BaseScene {
         menuPane.setMaxWidth(gameWindow.getWidth());
         menuPane.setMaxHeight(gameWindow.getHeight());
         menuPane.getStyleClass().add("menu-background");
+        setBackgroundImage(menuPane, "images/1.jpg");
         root.getChildren().add(menuPane);
 
         //new border pane
@@ -80,19 +86,24 @@ public class MenuScene extends BaseScene {
         //basic button
         var button = new Button("Play");
         //basic button
+        var custom = new Button("Custom");
+        //basic button
         var instructions = new Button("Instructions");
 
         menuPane.setAlignment(title, Pos.TOP_CENTER);
         menuPane.setAlignment(button, Pos.CENTER);
+        menuPane.setAlignment(custom, Pos.CENTER);
         menuPane.setAlignment(instructions, Pos.BOTTOM_CENTER);
 
-        vBox.getChildren().addAll(title, button, instructions);
+        vBox.getChildren().addAll(title, button, custom, instructions);
 
         VBox.setVgrow(mainPane, Priority.ALWAYS);
         menuPane.getChildren().add(vBox);
 
         //Bind the button action to the startGame method in the menu
         button.setOnAction(this::startGame);
+        //Bind the button action to the startCustomGame method in the menu
+        custom.setOnAction(this::startCustomGame);
         //Bind the button action to the loadInstructions method in the menu
         instructions.setOnAction(this::loadInstructions);
     }
@@ -102,9 +113,6 @@ public class MenuScene extends BaseScene {
      */
     @Override
     public void initialise() {
-        logger.info("Attempting to start loading screen first");
-        gameWindow.startLoadingScene();
-
         gameWindow.setupStage();
     }
 
@@ -116,6 +124,17 @@ public class MenuScene extends BaseScene {
         gameWindow.startChallenge();
     }
 
+    /**
+     * Handle when the Custom button is pressed. The board size is read from the tetrecs.cols and tetrecs.rows system
+     * properties, and defaults to 10x10.
+     * @param event event
+     */
+    private void startCustomGame(ActionEvent event) {
+        var cols = Integer.getInteger("tetrecs.cols", CUSTOM_SIZE);
+        var rows = Integer.getInteger("tetrecs.rows", CUSTOM_SIZE);
+        gameWindow.startChallenge(cols, rows);
+    }
+
     /**
      * Handle when the Instructions button is pressed
      * @param event
@@ -4,7 +4,6 @@ import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,6 +22,11 @@ public class GameWindow {
 
     private static final Logger logger = LogManager.getLogger(GameWindow.class);
 
+    /**
+     * The server to connect to, unless another is given in the tetrecs.server system property
+     */
+    private static final String DEFAULT_SERVER = "ws://discord.ecs.soton.ac.uk:9700";
+
     private final int width;
     private final int height;
 
@@ -48,27 +52,14 @@ public class GameWindow {
         //Setup window
         setupStage();
 
-        //Setup resources
-        setupResources();
-
         //Setup default scene
         setupDefaultScene();
 
         //Setup communicator
-        communicator = new Communicator("ws://discord.ecs.soton.ac.uk:9700");
-
-        //Go to menu
-        startMenu();
-    }
+        communicator = new Communicator(System.getProperty("tetrecs.server", DEFAULT_SERVER));
 
-    /**
-     * Setup the font and any other resources we need
-     */
-    private void setupResources() {
-        logger.info("Loading resources");
-        Font.loadFont(getClass().getResourceAsStream("/style/Orbitron-Regular.ttf"),32);
-        Font.loadFont(getClass().getResourceAsStream("/style/Orbitron-Bold.ttf"),32);
-        Font.loadFont(getClass().getResourceAsStream("/style/Orbitron-ExtraBold.ttf"),32);
+        //Load the game's assets, which then goes to the menu
+        startLoadingScene();
     }
 
     /**
@@ -85,6 +76,15 @@ public class GameWindow {
         loadScene(new ChallengeScene(this));
     }
 
+    /**
+     * Display the single player challenge on a custom board size
+     * @param cols number of columns of the board
+     * @param rows number of rows of the board
+     */
+    public void startChallenge(int cols, int rows) {
+        loadScene(new ChallengeScene(this, cols, rows));
+    }
+
     /**
      * Display Instructions menu
      */
@@ -0,0 +1,169 @@
+package uk.ac.soton.comp1206.server;
+
+import uk.ac.soton.comp1206.game.GamePiece;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A channel clients can join to chat and play a game together. The first client in is the host, who starts the game.
+ *
+ * Every member of a channel is given the same sequence of pieces.
+ */
+class Channel {
+
+    private final String name;
+
+    /**
+     * The members, in the order they joined
+     */
+    private final List<Client> members = new ArrayList<>();
+
+    private Client host;
+
+    /**
+     * Whether the game has started, after which no one else can join
+     */
+    private boolean started;
+
+    private final Random random = new Random();
+
+    /**
+     * The pieces handed out so far, only the first pieceCount are in use
+     */
+    private int[] pieces = new int[64];
+
+    private int pieceCount;
+
+    /**
+     * Create a new empty channel
+     * @param name channel name
+     */
+    Channel(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Add a client to the channel
+     * @param client the client
+     * @return true if they joined, false if the game has already started
+     */
+    synchronized boolean join(Client client) {
+        if (started) {
+            return false;
+        }
+        members.add(client);
+        client.send("JOIN " + name);
+        if (host == null) {
+            host = client;
+            client.send("HOST");
+        }
+        broadcast("USERS " + getUsers());
+        return true;
+    }
+
+    /**
+     * Take a client out of the channel, handing on the host if it was them
+     * @param client the client
+     * @return true if the channel is now empty
+     */
+    synchronized boolean part(Client client) {
+        members.remove(client);
+        client.send("PARTED");
+        if (members.isEmpty()) {
+            return true;
+        }
+        if (client == host) {
+            host = members.get(0);
+            host.send("HOST");
+        }
+        broadcast("USERS " + getUsers());
+        if (started) {
+            broadcast("SCORES " + getScores());
+        }
+        return false;
+    }
+
+    /**
+     * Start the game, if the client is the host
+     * @param client the client asking to start
+     */
+    synchronized void start(Client client) {
+        if (client != host) {
+            client.send("ERROR Only the host can start the game");
+            return;
+        }
+        if (started) {
+            client.send("ERROR The game has already started");
+            return;
+        }
+        started = true;
+        for (var member : members) {
+            member.resetGame();
+        }
+        broadcast("START");
+    }
+
+    /**
+     * Get a piece in the channel's sequence
+     * @param index position in the sequence
+     * @return piece number
+     */
+    synchronized int getPiece(int index) {
+        while (pieceCount <= index) {
+            if (pieceCount == pieces.length) {
+                var grown = new int[pieces.length * 2];
+                System.arraycopy(pieces, 0, grown, 0, pieceCount);
+                pieces = grown;
+            }
+            pieces[pieceCount++] = random.nextInt(GamePiece.PIECES);
+        }
+        return pieces[index];
+    }
+
+    /**
+     * Send a message to every member
+     * @param message the message
+     */
+    synchronized void broadcast(String message) {
+        for (var member : members) {
+            member.send(message);
+        }
+    }
+
+    /**
+     * Get the nicknames of the members
+     * @return nicknames, one per line
+     */
+    synchronized String getUsers() {
+        var users = new StringBuilder();
+        for (var member : members) {
+            if (users.length() > 0) users.append('\n');
+            users.append(member.getNick());
+        }
+        return users.toString();
+    }
+
+    /**
+     * Get the scores of the members
+     * @return name:score:lives, or DEAD for lives once out of the game, one per line
+     */
+    synchronized String getScores() {
+        var scores = new StringBuilder();
+        for (var member : members) {
+            if (scores.length() > 0) scores.append('\n');
+            scores.append(member.getNick()).append(':').append(member.getScore()).append(':')
+                    .append(member.isAlive() ? String.valueOf(member.getLives()) : "DEAD");
+        }
+        return scores.toString();
+    }
+
+    /**
+     * Get the name of the channel
+     * @return name
+     */
+    String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,297 @@
+package uk.ac.soton.comp1206.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * One client connected to the server. Reads the client's messages and carries out their commands.
+ *
+ * Only the client's own thread reads messages, so the channel it is in is only touched by that thread. Its nickname
+ * and game state are read by other members of its channel.
+ */
+class Client implements Runnable {
+
+    private static final Logger logger = LogManager.getLogger(Client.class);
+
+    /**
+     * The lives each player starts a game with
+     */
+    private static final int LIVES = 3;
+
+    private final TetrECSServer server;
+
+    private final Socket socket;
+
+    private volatile WebSocketConnection connection;
+
+    private volatile String nick;
+
+    /**
+     * The channel the client is in, or null
+     */
+    private Channel channel;
+
+    private volatile int score;
+
+    private volatile int lives = LIVES;
+
+    private volatile boolean alive = true;
+
+    /**
+     * The position in the channel's piece sequence of the next piece this client will be given
+     */
+    private volatile int nextPiece;
+
+    /**
+     * Create a new client on a newly accepted socket
+     * @param server the server
+     * @param socket the socket
+     * @param nick the nickname to start with
+     */
+    Client(TetrECSServer server, Socket socket, String nick) {
+        this.server = server;
+        this.socket = socket;
+        this.nick = nick;
+    }
+
+    /**
+     * Run by the client's thread: answer the handshake, then handle messages until the client goes
+     */
+    @Override
+    public void run() {
+        try {
+            connection = WebSocketConnection.accept(socket);
+            logger.debug(nick + " connected from " + connection.getRemoteAddress());
+
+            String message;
+            while ((message = connection.read()) != null) {
+                handle(message);
+            }
+        } catch (IOException e) {
+            logger.debug(nick + " lost: " + e.getMessage());
+        } finally {
+            if (channel != null) {
+                server.leaveChannel(channel, this);
+            }
+            try {
+                socket.close();
+            } catch (IOException e) {
+                //Already gone
+            }
+            logger.debug(nick + " disconnected");
+        }
+    }
+
+    /**
+     * Carry out a command from the client
+     * @param message the message
+     */
+    private void handle(String message) {
+        var space = message.indexOf(' ');
+        var command = space < 0 ? message.strip() : message.substring(0, space);
+        var payload = space < 0 ? "" : message.substring(space + 1);
+
+        switch (command) {
+            case "HISCORES" -> send("HISCORES " + server.getHighScores());
+            case "HISCORE" -> submitHighScore(payload);
+            case "LIST" -> send("CHANNELS " + server.getChannelNames());
+            case "CREATE" -> createChannel(payload.strip());
+            case "JOIN" -> joinChannel(payload.strip());
+            case "NICK" -> changeNick(payload.strip());
+            case "PART", "USERS", "MSG", "START", "SCORE", "LIVES", "BOARD", "PIECE", "SCORES", "DIE" -> {
+                if (channel == null) {
+                    send("ERROR You are not in a channel");
+                } else {
+                    handleChannel(command, payload);
+                }
+            }
+            default -> send("ERROR Unknown command " + command);
+        }
+    }
+
+    /**
+     * Carry out a command which needs the client to be in a channel
+     * @param command the command
+     * @param payload the rest of the message
+     */
+    private void handleChannel(String command, String payload) {
+        switch (command) {
+            case "PART" -> {
+                server.leaveChannel(channel, this);
+                channel = null;
+            }
+            case "USERS" -> send("USERS " + channel.getUsers());
+            case "MSG" -> channel.broadcast("MSG " + nick + ":" + payload);
+            case "START" -> channel.start(this);
+            case "SCORE" -> {
+                score = parseNumber(payload, score);
+                channel.broadcast("SCORE " + nick + ":" + score);
+            }
+            case "LIVES" -> {
+                lives = parseNumber(payload, lives);
+                channel.broadcast("LIVES " + nick + ":" + lives);
+            }
+            case "BOARD" -> channel.broadcast("BOARD " + nick + ":" + payload);
+            case "PIECE" -> send("PIECE " + channel.getPiece(nextPiece++));
+            case "SCORES" -> send("SCORES " + channel.getScores());
+            case "DIE" -> {
+                alive = false;
+                channel.broadcast("DIE " + nick);
+                channel.broadcast("SCORES " + channel.getScores());
+            }
+        }
+    }
+
+    /**
+     * Open a new channel with the client as host
+     * @param name channel name
+     */
+    private void createChannel(String name) {
+        if (channel != null) {
+            send("ERROR You are already in a channel");
+        } else if (!isValidName(name)) {
+            send("ERROR Invalid channel name");
+        } else if ((channel = server.createChannel(name, this)) == null) {
+            send("ERROR Channel " + name + " already exists");
+        }
+    }
+
+    /**
+     * Join an existing channel
+     * @param name channel name
+     */
+    private void joinChannel(String name) {
+        if (channel != null) {
+            send("ERROR You are already in a channel");
+        } else if ((channel = server.joinChannel(name, this)) == null) {
+            send("ERROR Unable to join " + name);
+        }
+    }
+
+    /**
+     * Change the client's nickname, or tell them what it is if no new one is given
+     * @param newNick the new nickname, or empty
+     */
+    private void changeNick(String newNick) {
+        if (newNick.isEmpty()) {
+            send("NICK " + nick);
+            return;
+        }
+        if (!isValidName(newNick)) {
+            send("ERROR Invalid nickname");
+            return;
+        }
+        var oldNick = nick;
+        nick = newNick;
+        send("NICK " + newNick);
+        if (channel != null) {
+            channel.broadcast("NICK " + oldNick + ":" + newNick);
+            channel.broadcast("USERS " + channel.getUsers());
+        }
+    }
+
+    /**
+     * Record a high score sent as name:score
+     * @param payload the name and score
+     */
+    private void submitHighScore(String payload) {
+        var colon = payload.lastIndexOf(':');
+        if (colon > 0 && isValidName(payload.substring(0, colon))) {
+            try {
+                var name = payload.substring(0, colon);
+                var newScore = Integer.parseInt(payload.substring(colon + 1).strip());
+                server.addHighScore(name, newScore);
+                send("NEWSCORE " + name + ":" + newScore);
+                return;
+            } catch (NumberFormatException e) {
+                //Falls through to the error
+            }
+        }
+        send("ERROR Invalid high score " + payload);
+    }
+
+    /**
+     * Parse a number sent by the client, telling them if it is not one
+     * @param payload the number
+     * @param current the value to keep if it is not a number
+     * @return the number
+     */
+    private int parseNumber(String payload, int current) {
+        try {
+            return Integer.parseInt(payload.strip());
+        } catch (NumberFormatException e) {
+            send("ERROR Invalid number " + payload);
+            return current;
+        }
+    }
+
+    /**
+     * Check a name can be used in messages, which separate fields with colons and entries with new lines
+     * @param name the name
+     * @return true if it can be used
+     */
+    private static boolean isValidName(String name) {
+        return !name.isBlank() && name.indexOf(':') < 0 && name.indexOf('\n') < 0;
+    }
+
+    /**
+     * Send a message to the client. If it cannot be sent the connection is closed, which ends the client's thread.
+     * @param message the message
+     */
+    void send(String message) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.send(message);
+        } catch (IOException e) {
+            logger.debug("Unable to send to " + nick + ": " + e.getMessage());
+            connection.close();
+        }
+    }
+
+    /**
+     * Reset the client's score, lives and pieces for a new game
+     */
+    void resetGame() {
+        score = 0;
+        lives = LIVES;
+        alive = true;
+        nextPiece = 0;
+    }
+
+    /**
+     * Get the client's nickname
+     * @return nickname
+     */
+    String getNick() {
+        return nick;
+    }
+
+    /**
+     * Get the client's score
+     * @return score
+     */
+    int getScore() {
+        return score;
+    }
+
+    /**
+     * Get the client's lives
+     * @return lives
+     */
+    int getLives() {
+        return lives;
+    }
+
+    /**
+     * Check whether the client is still in the game
+     * @return true until the client dies
+     */
+    boolean isAlive() {
+        return alive;
+    }
+}
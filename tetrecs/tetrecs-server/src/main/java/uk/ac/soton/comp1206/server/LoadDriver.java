@@ -0,0 +1,294 @@
+package uk.ac.soton.comp1206.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.ac.soton.comp1206.network.Communicator;
+import uk.ac.soton.comp1206.network.Message;
+import uk.ac.soton.comp1206.network.OverflowPolicy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives a TetrECS server with many simulated players, each using its own Communicator just as the game does, and
+ * reports the throughput and round trip latency.
+ *
+ * Players are put in channels a few at a time. Each player sends its board and then a chat message, and waits for its
+ * own chat message to come back before sending the next pair. The time until it comes back is a full round trip
+ * through the Communicator's queue and sender, the server, the channel broadcast and the Communicator's dispatcher.
+ *
+ * Listeners are called straight from the web socket threads rather than the JavaFX thread. Every Communicator has its
+ * own platform threads, so a few thousand players need a few thousand threads each side.
+ *
+ * Usage: LoadDriver [url] [players] [seconds] [players per channel]
+ */
+public class LoadDriver {
+
+    private static final Logger logger = LogManager.getLogger(LoadDriver.class);
+
+    private static final String DEFAULT_URL = "ws://localhost:" + TetrECSServer.DEFAULT_PORT;
+    private static final int DEFAULT_PLAYERS = 1000;
+    private static final int DEFAULT_SECONDS = 30;
+    private static final int DEFAULT_CHANNEL_SIZE = 4;
+
+    /**
+     * How long to wait for every player to join their channel
+     */
+    private static final int JOIN_TIMEOUT_SECONDS = 60;
+
+    /**
+     * The most messages waiting to be sent by each player. Players only have two in flight at a time.
+     */
+    private static final int QUEUE_CAPACITY = 16;
+
+    /**
+     * The board each player sends, an empty 5x5 board
+     */
+    private static final String BOARD = String.join(" ", Collections.nCopies(25, "0"));
+
+    /**
+     * The percentiles of round trip latency reported
+     */
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    /**
+     * A simulated player
+     */
+    private static class Player {
+
+        /**
+         * Marks this player's own chat messages
+         */
+        private final String id;
+
+        private final Communicator communicator;
+
+        /**
+         * Counted down when the player is in their channel
+         */
+        private final CountDownLatch joined = new CountDownLatch(1);
+
+        /**
+         * Every message delivered to this player
+         */
+        private final AtomicLong received = new AtomicLong();
+
+        /**
+         * The round trip times measured, only the first count are in use
+         */
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private volatile boolean running;
+
+        /**
+         * Create a new player and start connecting
+         * @param id player id
+         * @param url server to connect to
+         */
+        Player(String id, String url) {
+            this.id = id;
+            this.communicator = new Communicator(url, QUEUE_CAPACITY, OverflowPolicy.BLOCK, Runnable::run);
+            communicator.addListener(message -> received.incrementAndGet());
+            communicator.addListener("JOIN", message -> joined.countDown());
+            communicator.addListener("ERROR", message -> logger.error(id + ": " + message.getPayload()));
+            communicator.addListener("MSG", this::receiveChat);
+        }
+
+        /**
+         * Start sending
+         */
+        void start() {
+            running = true;
+            sendRound();
+        }
+
+        /**
+         * Send the board, then a chat message stamped with the time
+         */
+        private void sendRound() {
+            communicator.send("BOARD " + BOARD);
+            communicator.send("MSG " + id + " " + System.nanoTime());
+        }
+
+        /**
+         * Handle a chat message. If it is this player's own, record how long it took and send the next round.
+         * @param message chat message, as player:text
+         */
+        private void receiveChat(Message message) {
+            var now = System.nanoTime();
+            var payload = message.getPayload();
+            var text = payload.substring(payload.indexOf(':') + 1);
+            var space = text.indexOf(' ');
+            if (space < 0 || !text.substring(0, space).equals(id)) {
+                return;
+            }
+
+            record(now - Long.parseLong(text.substring(space + 1)));
+            if (running) {
+                sendRound();
+            }
+        }
+
+        /**
+         * Record a round trip
+         * @param nanos round trip time in nanoseconds
+         */
+        private synchronized void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        /**
+         * Get the round trips measured
+         * @return round trip times in nanoseconds
+         */
+        synchronized long[] getLatencies() {
+            return Arrays.copyOf(latencies, count);
+        }
+    }
+
+    /**
+     * Run the load test
+     * @param args optionally the server url, number of players, seconds to run for and players per channel
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static void main(String[] args) throws InterruptedException {
+        var url = args.length > 0 ? args[0] : DEFAULT_URL;
+        var playerCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PLAYERS;
+        var seconds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SECONDS;
+        var channelSize = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_CHANNEL_SIZE;
+
+        logger.info("Connecting " + playerCount + " players to " + url);
+        var connectStart = System.nanoTime();
+        List<Player> players = new ArrayList<>(playerCount);
+        for (var i = 0; i < playerCount; i++) {
+            players.add(new Player("p" + i, url));
+        }
+
+        //Hosts create the channels first, so they exist by the time everyone else joins
+        for (var i = 0; i < playerCount; i += channelSize) {
+            players.get(i).communicator.send("CREATE load-" + i / channelSize);
+        }
+        if (!awaitJoined(players, 0, channelSize)) {
+            shutdown(players);
+            return;
+        }
+        for (var i = 0; i < playerCount; i++) {
+            if (i % channelSize != 0) {
+                players.get(i).communicator.send("JOIN load-" + i / channelSize);
+            }
+        }
+        if (!awaitJoined(players, 1, 1)) {
+            shutdown(players);
+            return;
+        }
+        var connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStart);
+        logger.info("All players joined in " + connectMillis + "ms, running for " + seconds + "s");
+
+        var start = System.nanoTime();
+        for (var player : players) {
+            player.start();
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        for (var player : players) {
+            player.running = false;
+        }
+        var elapsed = (System.nanoTime() - start) / 1e9;
+
+        report(players, elapsed);
+        shutdown(players);
+    }
+
+    /**
+     * Wait for players to join their channels
+     * @param players every player
+     * @param first the first player to wait for
+     * @param step wait for every step-th player from the first
+     * @return true if they all joined in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static boolean awaitJoined(List<Player> players, int first, int step) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(JOIN_TIMEOUT_SECONDS);
+        var missing = 0;
+        for (var i = first; i < players.size(); i += step) {
+            var remaining = deadline - System.nanoTime();
+            if (!players.get(i).joined.await(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                missing++;
+            }
+        }
+        if (missing > 0) {
+            logger.error(missing + " players did not join within " + JOIN_TIMEOUT_SECONDS + "s");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Print the throughput and latency percentiles
+     * @param players every player
+     * @param elapsed seconds the test ran for
+     */
+    private static void report(List<Player> players, double elapsed) {
+        var received = 0L;
+        var sent = 0L;
+        var perPlayer = new ArrayList<long[]>(players.size());
+        var total = 0;
+        for (var player : players) {
+            received += player.received.get();
+            sent += player.communicator.getSenderMetrics().getSent();
+            var latencies = player.getLatencies();
+            perPlayer.add(latencies);
+            total += latencies.length;
+        }
+
+        var all = new long[total];
+        var position = 0;
+        for (var latencies : perPlayer) {
+            System.arraycopy(latencies, 0, all, position, latencies.length);
+            position += latencies.length;
+        }
+        Arrays.sort(all);
+
+        System.out.printf("Players:      %d%n", players.size());
+        System.out.printf("Duration:     %.1fs%n", elapsed);
+        System.out.printf("Round trips:  %d (%.0f/s)%n", all.length, all.length / elapsed);
+        System.out.printf("Sent:         %d messages (%.0f/s)%n", sent, sent / elapsed);
+        System.out.printf("Delivered:    %d messages (%.0f/s)%n", received, received / elapsed);
+        if (all.length == 0) {
+            return;
+        }
+        for (var percentile : PERCENTILES) {
+            var index = (int) Math.ceil(percentile / 100 * all.length) - 1;
+            System.out.printf("p%-11s %.3fms%n", format(percentile) + ":", all[Math.max(0, index)] / 1e6);
+        }
+        System.out.printf("max:         %.3fms%n", all[all.length - 1] / 1e6);
+    }
+
+    /**
+     * Format a percentile without a needless decimal point
+     * @param percentile percentile
+     * @return formatted percentile
+     */
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    /**
+     * Close every player's connection
+     * @param players every player
+     */
+    private static void shutdown(List<Player> players) {
+        for (var player : players) {
+            player.communicator.close();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package uk.ac.soton.comp1206.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stand-in for the TetrECS game server, speaking the same text protocol over web sockets: channels, chat,
+ * multiplayer games with scores, lives, boards and a shared piece sequence, and a high score table. Everything is kept
+ * in memory and lost when the server stops.
+ *
+ * Point the game at it with -Dtetrecs.server=ws://localhost:9700.
+ *
+ * Each client is read by its own thread. Messages to a channel are written by whichever thread caused them, holding
+ * the channel, so every member sees them in the same order.
+ */
+public class TetrECSServer {
+
+    private static final Logger logger = LogManager.getLogger(TetrECSServer.class);
+
+    /**
+     * The port the real server listens on
+     */
+    public static final int DEFAULT_PORT = 9700;
+
+    /**
+     * Connections waiting to be accepted before more are refused, enough for a load test connecting all at once
+     */
+    private static final int BACKLOG = 1024;
+
+    /**
+     * The number of high scores kept
+     */
+    private static final int HIGH_SCORES = 10;
+
+    private final ServerSocket serverSocket;
+
+    /**
+     * The open channels by name, in the order they were created
+     */
+    private final Map<String, Channel> channels = new LinkedHashMap<>();
+
+    /**
+     * The high scores, best first
+     */
+    private final List<HighScore> highScores = new ArrayList<>();
+
+    /**
+     * Used to give each new client a different nickname
+     */
+    private final AtomicInteger guests = new AtomicInteger();
+
+    /**
+     * Runs the thread reading each client
+     */
+    private final ExecutorService clients = Executors.newCachedThreadPool(runnable -> {
+        var thread = new Thread(runnable, "server-client");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A high score: a name and a score
+     */
+    private static class HighScore {
+        private final String name;
+        private final int score;
+
+        HighScore(String name, int score) {
+            this.name = name;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Create a new server listening on the given port
+     * @param port the port, or 0 for any free port
+     * @throws IOException if the port cannot be listened on
+     */
+    public TetrECSServer(int port) throws IOException {
+        serverSocket = new ServerSocket(port, BACKLOG);
+    }
+
+    /**
+     * Accept clients until the server is closed
+     */
+    public void run() {
+        logger.info("Listening on port " + getPort());
+        while (!serverSocket.isClosed()) {
+            try {
+                var socket = serverSocket.accept();
+                clients.execute(new Client(this, socket, "Guest" + guests.incrementAndGet()));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    logger.error("Unable to accept client: " + e.getMessage());
+                }
+            }
+        }
+        logger.info("Stopped");
+    }
+
+    /**
+     * Stop accepting clients
+     */
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            logger.error("Unable to close server: " + e.getMessage());
+        }
+        clients.shutdown();
+    }
+
+    /**
+     * Get the port the server is listening on
+     * @return port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Open a new channel and put a client in it as the host
+     * @param name channel name
+     * @param client the client creating it
+     * @return the channel, or null if there is already a channel with that name
+     */
+    synchronized Channel createChannel(String name, Client client) {
+        if (channels.containsKey(name)) {
+            return null;
+        }
+        var channel = new Channel(name);
+        channels.put(name, channel);
+        channel.join(client);
+        logger.debug(client.getNick() + " created " + name);
+        return channel;
+    }
+
+    /**
+     * Put a client in an existing channel
+     * @param name channel name
+     * @param client the client joining
+     * @return the channel, or null if there is no channel with that name or its game has started
+     */
+    synchronized Channel joinChannel(String name, Client client) {
+        var channel = channels.get(name);
+        if (channel == null || !channel.join(client)) {
+            return null;
+        }
+        return channel;
+    }
+
+    /**
+     * Take a client out of a channel, closing the channel when the last client leaves
+     * @param channel the channel
+     * @param client the client leaving
+     */
+    synchronized void leaveChannel(Channel channel, Client client) {
+        if (channel.part(client)) {
+            channels.remove(channel.getName());
+            logger.debug("Closed " + channel.getName());
+        }
+    }
+
+    /**
+     * Get the names of the open channels
+     * @return channel names, one per line
+     */
+    synchronized String getChannelNames() {
+        return String.join("\n", channels.keySet());
+    }
+
+    /**
+     * Add a score to the high scores, if it is good enough
+     * @param name player name
+     * @param score score
+     */
+    void addHighScore(String name, int score) {
+        synchronized (highScores) {
+            var position = 0;
+            while (position < highScores.size() && highScores.get(position).score >= score) {
+                position++;
+            }
+            if (position < HIGH_SCORES) {
+                highScores.add(position, new HighScore(name, score));
+                if (highScores.size() > HIGH_SCORES) {
+                    highScores.remove(HIGH_SCORES);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the high scores
+     * @return high scores as name:score, best first, one per line
+     */
+    String getHighScores() {
+        var scores = new StringBuilder();
+        synchronized (highScores) {
+            for (var highScore : highScores) {
+                if (scores.length() > 0) scores.append('\n');
+                scores.append(highScore.name).append(':').append(highScore.score);
+            }
+        }
+        return scores.toString();
+    }
+
+    /**
+     * Run the server
+     * @param args optionally, the port to listen on
+     * @throws IOException if the port cannot be listened on
+     */
+    public static void main(String[] args) throws IOException {
+        var port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        new TetrECSServer(port).run();
+    }
+}
@@ -0,0 +1,280 @@
+package uk.ac.soton.comp1206.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * The server end of a single web socket connection, on a plain Socket.
+ *
+ * Only what the TetrECS protocol needs is supported: text messages, which may be split into fragments, and the ping
+ * and close control frames. There are no extensions or subprotocols.
+ *
+ * One thread reads from the connection. Any thread can send to it; sends are written whole and in order.
+ */
+public class WebSocketConnection implements Closeable {
+
+    /**
+     * Appended to the client's key to make the accept header, as set by RFC 6455
+     */
+    private static final String HANDSHAKE_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    /**
+     * The longest message accepted from a client, in bytes
+     */
+    private static final int MAX_MESSAGE = 1 << 20;
+
+    /**
+     * The longest handshake line accepted from a client, in bytes
+     */
+    private static final int MAX_LINE = 8192;
+
+    private static final int OP_CONTINUATION = 0x0;
+    private static final int OP_TEXT = 0x1;
+    private static final int OP_BINARY = 0x2;
+    private static final int OP_CLOSE = 0x8;
+    private static final int OP_PING = 0x9;
+    private static final int OP_PONG = 0xA;
+
+    private static final int CLOSE_NORMAL = 1000;
+    private static final int CLOSE_UNSUPPORTED = 1003;
+    private static final int CLOSE_TOO_BIG = 1009;
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    /**
+     * Whether a close frame has been sent
+     */
+    private boolean closed;
+
+    private WebSocketConnection(Socket socket, DataInputStream in, DataOutputStream out) {
+        this.socket = socket;
+        this.in = in;
+        this.out = out;
+    }
+
+    /**
+     * Read the opening handshake from a newly accepted socket and answer it
+     * @param socket the socket
+     * @return the connection
+     * @throws IOException if the socket fails or the client did not ask for a web socket
+     */
+    public static WebSocketConnection accept(Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+        var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        var out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+        var request = readLine(in);
+        if (!request.startsWith("GET ")) {
+            throw new IOException("Not a web socket handshake: " + request);
+        }
+
+        String key = null;
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            var colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Sec-WebSocket-Key")) {
+                key = line.substring(colon + 1).trim();
+            }
+        }
+
+        if (key == null) {
+            out.write("HTTP/1.1 400 Bad Request\r\nConnection: close\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+            throw new IOException("Handshake without a Sec-WebSocket-Key");
+        }
+
+        var response = "HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + getAcceptKey(key) + "\r\n\r\n";
+        out.write(response.getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+
+        return new WebSocketConnection(socket, in, out);
+    }
+
+    /**
+     * Work out the accept header for a client's key
+     * @param key the client's key
+     * @return the accept header value
+     */
+    private static String getAcceptKey(String key) {
+        try {
+            var sha1 = MessageDigest.getInstance("SHA-1");
+            var digest = sha1.digest((key + HANDSHAKE_GUID).getBytes(StandardCharsets.ISO_8859_1));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            //Every Java platform has to provide SHA-1
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Read one line of the handshake, without its line ending
+     * @param in the stream
+     * @return the line
+     * @throws IOException if the stream fails or ends, or the line is too long
+     */
+    private static String readLine(DataInputStream in) throws IOException {
+        var line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c < 0) {
+                throw new EOFException("Connection closed during handshake");
+            }
+            if (line.length() == MAX_LINE) {
+                throw new IOException("Handshake line too long");
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Wait for the next text message from the client, answering any pings on the way
+     * @return the message, or null once the client has closed the connection
+     * @throws IOException if the connection fails or the client breaks the protocol
+     */
+    public String read() throws IOException {
+        var message = new ByteArrayOutputStream();
+        while (true) {
+            var first = in.read();
+            if (first < 0) {
+                return null;
+            }
+            var second = in.readUnsignedByte();
+
+            var fin = (first & 0x80) != 0;
+            var opcode = first & 0x0F;
+            long length = second & 0x7F;
+            if (length == 126) {
+                length = in.readUnsignedShort();
+            } else if (length == 127) {
+                length = in.readLong();
+            }
+
+            if ((second & 0x80) == 0) {
+                throw new IOException("Unmasked frame from client");
+            }
+            if (length < 0 || length > MAX_MESSAGE - message.size()) {
+                close(CLOSE_TOO_BIG);
+                throw new IOException("Message longer than " + MAX_MESSAGE + " bytes");
+            }
+
+            var mask = new byte[4];
+            in.readFully(mask);
+            var payload = new byte[(int) length];
+            in.readFully(payload);
+            for (var i = 0; i < payload.length; i++) {
+                payload[i] ^= mask[i & 3];
+            }
+
+            switch (opcode) {
+                case OP_TEXT, OP_CONTINUATION -> {
+                    message.write(payload);
+                    if (fin) {
+                        return message.toString(StandardCharsets.UTF_8);
+                    }
+                }
+                case OP_PING -> sendFrame(OP_PONG, payload);
+                case OP_PONG -> {
+                    //Nothing to do
+                }
+                case OP_CLOSE -> {
+                    close(CLOSE_NORMAL);
+                    return null;
+                }
+                case OP_BINARY -> {
+                    close(CLOSE_UNSUPPORTED);
+                    throw new IOException("Binary message from client");
+                }
+                default -> throw new IOException("Unknown opcode " + opcode);
+            }
+        }
+    }
+
+    /**
+     * Send a text message to the client
+     * @param message the message
+     * @throws IOException if the connection fails or has been closed
+     */
+    public void send(String message) throws IOException {
+        sendFrame(OP_TEXT, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Write a single unfragmented frame. Server frames are never masked.
+     * @param opcode frame opcode
+     * @param payload frame payload
+     * @throws IOException if the connection fails or has been closed
+     */
+    private synchronized void sendFrame(int opcode, byte[] payload) throws IOException {
+        if (closed) {
+            throw new IOException("Connection closed");
+        }
+        out.write(0x80 | opcode);
+        if (payload.length < 126) {
+            out.write(payload.length);
+        } else if (payload.length <= 0xFFFF) {
+            out.write(126);
+            out.writeShort(payload.length);
+        } else {
+            out.write(127);
+            out.writeLong(payload.length);
+        }
+        out.write(payload);
+        out.flush();
+    }
+
+    /**
+     * Send a close frame with the given status, then close the socket
+     * @param status close status code
+     */
+    private synchronized void close(int status) {
+        if (closed) {
+            return;
+        }
+        try {
+            sendFrame(OP_CLOSE, new byte[] { (byte) (status >> 8), (byte) status });
+        } catch (IOException e) {
+            //Closing anyway
+        }
+        closed = true;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            //Already gone
+        }
+    }
+
+    /**
+     * Close the connection
+     */
+    @Override
+    public void close() {
+        close(CLOSE_NORMAL);
+    }
+
+    /**
+     * Get the address of the client
+     * @return client address
+     */
+    public String getRemoteAddress() {
+        return String.valueOf(socket.getRemoteSocketAddress());
+    }
+}